@@ -0,0 +1,124 @@
+package com.bookingapi.config;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication work done for every request, through the provider each scheme uses: a password
+ * checked against a BCrypt hash (HTTP Basic, cost 10), and a bearer JWT verified with HS256 or
+ * RS256, each once per request and once per token through {@link CachingJwtDecoder}. The cached
+ * variants measure a client repeating a token the service has already verified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    @Param({"basic-bcrypt", "jwt-hs256", "jwt-rs256", "jwt-hs256-cached", "jwt-rs256-cached"})
+    public String scheme;
+
+    private AuthenticationProvider provider;
+    private Authentication request;
+
+    @Setup
+    public void setUp() throws Exception {
+        if (scheme.equals("basic-bcrypt")) {
+            BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+            DaoAuthenticationProvider dao = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                    User.withUsername("bench").password(passwordEncoder.encode("bench-password")).roles("USER").build()));
+            dao.setPasswordEncoder(passwordEncoder);
+            provider = dao;
+            request = UsernamePasswordAuthenticationToken.unauthenticated("bench", "bench-password");
+            return;
+        }
+
+        JwtDecoder decoder;
+        String token;
+        if (scheme.startsWith("jwt-hs256")) {
+            String secret = Base64.getEncoder().encodeToString("benchmark-only-booking-api-signing-key".getBytes());
+            decoder = SecurityConfig.verifier(secret, "", "");
+            token = encode(new NimbusJwtEncoder(new ImmutableSecret<SecurityContext>(SecurityConfig.secretKey(secret))),
+                    JwsHeader.with(MacAlgorithm.HS256).build());
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            RSAKey key = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                    .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                    .build();
+            NimbusJwtDecoder rs256 = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic())
+                    .signatureAlgorithm(SignatureAlgorithm.RS256)
+                    .build();
+            rs256.setJwtValidator(JwtValidators.createDefault());
+            decoder = rs256;
+            token = encode(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key))),
+                    JwsHeader.with(SignatureAlgorithm.RS256).build());
+        }
+        if (scheme.endsWith("-cached")) {
+            decoder = new CachingJwtDecoder(decoder, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        }
+        provider = new JwtAuthenticationProvider(decoder);
+        request = new BearerTokenAuthenticationToken(token);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return provider.authenticate(request);
+    }
+
+    private static String encode(JwtEncoder encoder, JwsHeader header) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("bench")
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
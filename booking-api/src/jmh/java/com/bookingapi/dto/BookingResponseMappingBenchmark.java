@@ -0,0 +1,67 @@
+package com.bookingapi.dto;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.entity.Item;
+import com.bookingapi.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mapping as the controller does it: {@link BookingResponse#from} on its own
+ * and followed by JSON rendering through {@link BookingResponseSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingResponseMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(UUID.randomUUID()).email("bench@example.com").build())
+                .item(Item.builder().id(UUID.randomUUID()).name("Kayak").build())
+                .startDate(now.plusDays(7))
+                .endDate(now.plusDays(11))
+                .totalPrice(new BigDecimal("227.50"))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .notes("Two paddles please")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public BookingResponse mapEntity() {
+        return BookingResponse.from(booking);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(BookingResponse.from(booking));
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookingapi.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary encoding of the booking events through {@link AvroEventCodec} with the bundled schemas,
+ * the counterpart of {@link EventJsonBenchmark} for {@code booking.kafka.producer.value-format=avro}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventAvroBenchmark {
+
+    private AvroEventCodec codec;
+
+    private BookingCreatedEvent bookingCreated;
+    private UserRegisteredEvent userRegistered;
+    private byte[] bookingCreatedBytes;
+    private byte[] userRegisteredBytes;
+
+    @Setup
+    public void setUp() {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry();
+        registry.registerAll("classpath:avro/*.avsc");
+        codec = new AvroEventCodec(registry);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        bookingCreated = new BookingCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "Kayak",
+                now.plusDays(7), now.plusDays(11), new BigDecimal("227.50"), "CONFIRMED", now);
+        userRegistered = new UserRegisteredEvent(UUID.randomUUID(), "bench@example.com", "Bench", "User", now);
+
+        bookingCreatedBytes = codec.encode(bookingCreated);
+        userRegisteredBytes = codec.encode(userRegistered);
+    }
+
+    @Benchmark
+    public byte[] serializeBookingCreated() {
+        return codec.encode(bookingCreated);
+    }
+
+    @Benchmark
+    public Object deserializeBookingCreated() {
+        return codec.decode(bookingCreatedBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeUserRegistered() {
+        return codec.encode(userRegistered);
+    }
+
+    @Benchmark
+    public Object deserializeUserRegistered() {
+        return codec.decode(userRegisteredBytes);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bookingapi.event;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value encoding of the booking events through the same {@link JsonSerializer} and
+ * {@link JsonDeserializer} setup as {@code KafkaConfig}: type headers on write, trusted packages
+ * on read. Deserialization reads bytes produced once in setup; the deserializer strips the type
+ * headers it reads, so each call gets a fresh copy of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventJsonBenchmark {
+
+    private static final String BOOKING_TOPIC = "booking_created";
+    private static final String USER_TOPIC = "user_registered";
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<Object> deserializer;
+
+    private BookingCreatedEvent bookingCreated;
+    private UserRegisteredEvent userRegistered;
+    private byte[] bookingCreatedBytes;
+    private Header[] bookingCreatedHeaders;
+    private byte[] userRegisteredBytes;
+    private Header[] userRegisteredHeaders;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.configure(Map.of(), false);
+        deserializer = new JsonDeserializer<>();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+
+        LocalDateTime now = LocalDateTime.now();
+        bookingCreated = new BookingCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "Kayak",
+                now.plusDays(7), now.plusDays(11), new BigDecimal("227.50"), "CONFIRMED", now);
+        userRegistered = new UserRegisteredEvent(UUID.randomUUID(), "bench@example.com", "Bench", "User", now);
+
+        RecordHeaders headers = new RecordHeaders();
+        bookingCreatedBytes = serializer.serialize(BOOKING_TOPIC, headers, bookingCreated);
+        bookingCreatedHeaders = headers.toArray();
+        headers = new RecordHeaders();
+        userRegisteredBytes = serializer.serialize(USER_TOPIC, headers, userRegistered);
+        userRegisteredHeaders = headers.toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeBookingCreated() {
+        return serializer.serialize(BOOKING_TOPIC, new RecordHeaders(), bookingCreated);
+    }
+
+    @Benchmark
+    public Object deserializeBookingCreated() {
+        return deserializer.deserialize(BOOKING_TOPIC, new RecordHeaders(bookingCreatedHeaders), bookingCreatedBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeUserRegistered() {
+        return serializer.serialize(USER_TOPIC, new RecordHeaders(), userRegistered);
+    }
+
+    @Benchmark
+    public Object deserializeUserRegistered() {
+        return deserializer.deserialize(USER_TOPIC, new RecordHeaders(userRegisteredHeaders), userRegisteredBytes);
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookingapi.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bookingapi.entity.Booking;
+import com.bookingapi.entity.Item;
+import com.bookingapi.entity.User;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.ItemRepository;
+import com.bookingapi.repository.OutboxEventRepository;
+import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.UserSummary;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * In-process cost of {@link BookingService#createBooking}: date validation and pricing on their
+ * own, and the whole method over the real caches and outbox serialization with repositories
+ * answered from memory, so database and Kafka I/O are left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    private BookingService bookingService;
+    private Item item;
+    private UUID userId;
+    private UUID itemId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        userId = UUID.randomUUID();
+        itemId = UUID.randomUUID();
+        now = LocalDateTime.now();
+        startDate = now.plusDays(7).withHour(14);
+        endDate = startDate.plusDays(4).withHour(10);
+        User user = User.builder().id(userId).email("bench@example.com").firstName("Bench").lastName("User").build();
+        item = Item.builder()
+                .id(itemId)
+                .name("Kayak")
+                .pricePerDay(new BigDecimal("45.50"))
+                .maxDurationDays(30)
+                .isAvailable(true)
+                .build();
+
+        BookingRepository bookingRepository = repository(BookingRepository.class, (method, args) -> switch (method) {
+            case "save", "saveAndFlush" -> {
+                Booking booking = (Booking) args[0];
+                booking.setId(UUID.randomUUID());
+                yield booking;
+            }
+            case "isItemBookedInDateRange" -> false;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        ItemRepository itemRepository = repository(ItemRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.of(item);
+            default -> throw new UnsupportedOperationException(method);
+        });
+        OutboxEventRepository outboxEventRepository = repository(OutboxEventRepository.class, (method, args) -> {
+            if (method.equals("save")) {
+                return args[0];
+            }
+            throw new UnsupportedOperationException(method);
+        });
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserDirectory userDirectory = new UserDirectory(repository(UserRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        }), meterRegistry, 1_000);
+        userDirectory.putAll(List.of(UserSummary.from(user)));
+
+        // In-memory indexes are off: every call books the same dates, which they would reject
+        bookingService = new BookingService(
+                new OutboxService(outboxEventRepository, JsonMapper.builder().findAndAddModules().build()),
+                bookingRepository,
+                userDirectory,
+                new ItemCatalog(itemRepository, null, meterRegistry, 1_000, 100, Duration.ofMinutes(10)),
+                new BookingAvailabilityIndex(bookingRepository, false, false),
+                new ItemOccupancyIndex(itemRepository, bookingRepository, meterRegistry, false),
+                new BookingMetrics(meterRegistry),
+                new TransactionTemplate(new NoOpTransactionManager()));
+    }
+
+    @Benchmark
+    public boolean validateDates() {
+        return BookingService.hasValidDates(startDate, endDate, now);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return BookingService.calculateTotalPrice(item, startDate, endDate);
+    }
+
+    @Benchmark
+    public Booking createBooking() {
+        return bookingService.createBooking(userId, itemId, startDate, endDate, "bench");
+    }
+
+    /**
+     * Transaction manager that does nothing, for the batch path's {@link TransactionTemplate}.
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    /**
+     * Spring Data repository stand-in answering the named methods from memory.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, BiFunction<String, Object[], Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.apply(method.getName(), args));
+    }
+}
@@ -0,0 +1,91 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.PendingHold;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one 100 ms tick of hold expiry tracking with {@link HierarchicalTimerWheel}, next to a
+ * deadline-ordered {@link PriorityQueue}, at a steady state of {@code pending} holds with a 30
+ * minute TTL: each operation schedules the holds placed during one tick and takes out those that
+ * came due, as {@link BookingHoldService} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class HoldTimerWheelBenchmark {
+
+    private static final long TICK_MILLIS = 100;
+    private static final long TTL_MILLIS = 30 * 60_000L;
+
+    @Param({"100000", "1000000", "5000000"})
+    private int pending;
+
+    private HierarchicalTimerWheel<PendingHold> wheel;
+    private PriorityQueue<Deadline> queue;
+    private PendingHold hold;
+    private int placedPerTick;
+    private long now;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        placedPerTick = (int) Math.max(1, pending * TICK_MILLIS / TTL_MILLIS);
+        hold = new PendingHold(UUID.randomUUID(), LocalDateTime.now().plusDays(1), LocalDateTime.now());
+        now = 0;
+        wheel = new HierarchicalTimerWheel<>(TICK_MILLIS, now);
+        queue = new PriorityQueue<>(pending, Comparator.comparingLong(Deadline::millis));
+        for (int i = 0; i < pending; i++) {
+            long deadline = random.nextLong(TTL_MILLIS);
+            wheel.schedule(hold, deadline);
+            queue.add(new Deadline(hold, deadline));
+        }
+    }
+
+    @Benchmark
+    public int timerWheel() {
+        now += TICK_MILLIS;
+        for (int i = 0; i < placedPerTick; i++) {
+            wheel.schedule(hold, now + TTL_MILLIS);
+        }
+        return wheel.advance(now).size();
+    }
+
+    @Benchmark
+    public int priorityQueue() {
+        now += TICK_MILLIS;
+        for (int i = 0; i < placedPerTick; i++) {
+            queue.add(new Deadline(hold, now + TTL_MILLIS));
+        }
+        List<PendingHold> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().millis() <= now) {
+            due.add(queue.poll().hold());
+        }
+        return due.size();
+    }
+
+    private record Deadline(PendingHold hold, long millis) {
+    }
+}
@@ -1,57 +1,179 @@
 package com.bookingapi.config;
 
+import com.bookingapi.event.AvroEventCodec;
+import com.bookingapi.event.AvroEventDeserializer;
+import com.bookingapi.event.AvroEventSerializer;
+import com.bookingapi.event.LocalSchemaRegistry;
+import com.bookingapi.event.SchemaRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaConnectionDetails;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @EnableKafka
 @Configuration
 public class KafkaConfig {
 
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
+    @Value("${booking.kafka.producer.linger-ms:5}")
+    private int lingerMs;
 
+    @Value("${booking.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${booking.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${booking.kafka.producer.enable-idempotence:true}")
+    private boolean enableIdempotence;
+
+    // Independent of idempotence, which requires all; 1 or 0 trade durability for latency
+    @Value("${booking.kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${booking.kafka.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
+    @Value("${booking.kafka.producer.value-format:json}")
+    private String valueFormat;
+
+    @Value("${booking.kafka.consumer.concurrency:3}")
+    private int consumerConcurrency;
+
+    @Value("${booking.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Avro schemas of the events, bundled under {@code avro/} as {@code <subject>.v<version>.avsc}.
+     */
+    @Bean
+    public SchemaRegistry schemaRegistry() {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry();
+        registry.registerAll("classpath:avro/*.avsc");
+        return registry;
+    }
+
+    @Bean
+    public AvroEventCodec avroEventCodec(SchemaRegistry schemaRegistry) {
+        return new AvroEventCodec(schemaRegistry);
+    }
+
+    /**
+     * Brokers come from {@link KafkaConnectionDetails}: {@code spring.kafka.bootstrap-servers},
+     * or a {@code @ServiceConnection} container in tests.
+     */
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory(KafkaConnectionDetails connectionDetails,
+                                                           MeterRegistry meterRegistry,
+                                                           AvroEventCodec avroEventCodec) {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, connectionDetails.getProducer().getBootstrapServers());
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, enableIdempotence);
+        configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configProps,
+                StringSerializer::new, valueSerializer(avroEventCodec));
+        // Exposes the client's send metrics (record rate, batch size, request latency) as kafka.producer.* meters
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory(KafkaConnectionDetails connectionDetails,
+                                                           MeterRegistry meterRegistry,
+                                                           AvroEventCodec avroEventCodec) {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, connectionDetails.getConsumer().getBootstrapServers());
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "booking-service");
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        // Accepts JSON and Avro records alike, whatever the producer of each record chose
+        DefaultKafkaConsumerFactory<String, Object> factory = new DefaultKafkaConsumerFactory<>(configProps,
+                StringDeserializer::new, () -> new AvroEventDeserializer(avroEventCodec, new JsonDeserializer<>()));
+        // Exposes the client's fetch metrics, including records-lag-max, as kafka.consumer.* meters
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        applyListenerTaskExecutor(factory, "kafka-listener-");
         return factory;
     }
+
+    /**
+     * Delivers each poll as one {@code List} and commits offsets once the whole list has been
+     * handled. Concurrency should match the partition count of the consumed topics; extra
+     * consumers stay idle.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(consumerConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        applyListenerTaskExecutor(factory, "kafka-batch-listener-");
+        return factory;
+    }
+
+    /**
+     * JSON with type headers by default; with {@code booking.kafka.producer.value-format=avro}
+     * the events that have a schema are written in binary and the rest stay JSON.
+     */
+    private Supplier<Serializer<Object>> valueSerializer(AvroEventCodec avroEventCodec) {
+        return switch (valueFormat.toLowerCase(Locale.ROOT)) {
+            case "json" -> JsonSerializer::new;
+            case "avro" -> () -> new AvroEventSerializer(avroEventCodec, new JsonSerializer<>());
+            default -> throw new IllegalArgumentException("Unknown booking.kafka.producer.value-format: " + valueFormat);
+        };
+    }
+
+    /**
+     * Runs each listener container's consumer loop on a virtual thread when
+     * {@code spring.threads.virtual.enabled} is set. Boot only does this for the factory it
+     * auto-configures, which these definitions replace.
+     */
+    private void applyListenerTaskExecutor(ConcurrentKafkaListenerContainerFactory<String, Object> factory,
+                                           String threadNamePrefix) {
+        if (!virtualThreads) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
 }
\ No newline at end of file
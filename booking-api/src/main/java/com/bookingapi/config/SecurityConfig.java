@@ -0,0 +1,125 @@
+package com.bookingapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Stateless bearer-token authentication for the API.
+ *
+ * <p>Every request under {@code /api/**} must carry a JWT signed with the locally configured
+ * key: an RSA public key ({@code booking.security.jwt.public-key-location}, RS256) or a shared
+ * secret ({@code booking.security.jwt.secret}, base64, HS256). No session is created and no CSRF
+ * token is needed, since nothing is kept between requests. Health, info and the Prometheus scrape
+ * endpoint stay open.</p>
+ */
+@Configuration
+public class SecurityConfig {
+
+    /** HS256 needs a key at least as long as its 256-bit hash. */
+    private static final int MIN_SECRET_BYTES = 32;
+
+    @Value("${booking.security.jwt.secret:}")
+    private String secret;
+
+    @Value("${booking.security.jwt.public-key-location:}")
+    private String publicKeyLocation;
+
+    @Value("${booking.security.jwt.issuer:}")
+    private String issuer;
+
+    @Value("${booking.security.jwt.cache-max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${booking.security.jwt.cache-max-ttl:5m}")
+    private Duration cacheMaxTtl;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
+                        .anyRequest().authenticated())
+                .oauth2ResourceServer(resourceServer -> resourceServer.jwt(Customizer.withDefaults()))
+                .build();
+    }
+
+    /**
+     * Verifies signatures, {@code exp}/{@code nbf} and, when configured, {@code iss}; a cache of
+     * verified tokens in front of it ({@code booking.security.jwt.cache-max-size=0} turns it off)
+     * skips the signature check for tokens seen before.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        JwtDecoder verifier = verifier(secret, publicKeyLocation, issuer);
+        return cacheMaxSize > 0 ? new CachingJwtDecoder(verifier, cacheMaxSize, cacheMaxTtl, meterRegistry) : verifier;
+    }
+
+    static JwtDecoder verifier(String secret, String publicKeyLocation, String issuer) {
+        NimbusJwtDecoder decoder;
+        if (!publicKeyLocation.isBlank()) {
+            decoder = NimbusJwtDecoder.withPublicKey(readPublicKey(publicKeyLocation))
+                    .signatureAlgorithm(SignatureAlgorithm.RS256)
+                    .build();
+        } else if (!secret.isBlank()) {
+            decoder = NimbusJwtDecoder.withSecretKey(secretKey(secret))
+                    .macAlgorithm(MacAlgorithm.HS256)
+                    .build();
+        } else {
+            throw new IllegalStateException(
+                    "Set booking.security.jwt.secret or booking.security.jwt.public-key-location to verify bearer tokens");
+        }
+        decoder.setJwtValidator(issuer.isBlank()
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+
+    /**
+     * The HS256 key for a base64 {@code booking.security.jwt.secret}.
+     */
+    public static SecretKey secretKey(String secret) {
+        byte[] key = Base64.getDecoder().decode(secret.trim());
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("booking.security.jwt.secret must decode to at least "
+                    + MIN_SECRET_BYTES + " bytes");
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    private static RSAPublicKey readPublicKey(String location) {
+        try (InputStream in = new DefaultResourceLoader().getResource(location).getInputStream()) {
+            return RsaKeyConverters.x509().convert(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read public key " + location, e);
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.bookingapi.controller;
 
+import com.bookingapi.dto.BatchBookingResult;
+import com.bookingapi.dto.BookingHoldResponse;
+import com.bookingapi.dto.BookingPage;
+import com.bookingapi.dto.BookingRequest;
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
+import com.bookingapi.service.BookingHoldService;
 import com.bookingapi.service.BookingService;
+import com.bookingapi.service.BookingWriteShards;
+import com.bookingapi.service.IdempotencyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
@@ -21,27 +33,74 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingWriteShards bookingWriteShards;
+    private final IdempotencyService idempotencyService;
 
+    @Value("${booking.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${booking.listing.max-page-size:200}")
+    private int maxPageSize;
+
+    /**
+     * With an {@code Idempotency-Key} header, retries of the same request get the first
+     * response back without booking again; see {@link IdempotencyService}.
+     */
     @PostMapping
     public ResponseEntity<?> createBooking(
             @RequestParam UUID userId,
             @RequestParam UUID itemId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            @RequestParam(required = false, defaultValue = "") String notes) {
+            @RequestParam(required = false, defaultValue = "") String notes,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return create(userId, itemId, startDate, endDate, notes);
+        }
+
+        try {
+            String fingerprint = IdempotencyService.fingerprint("POST /api/bookings",
+                    userId, itemId, startDate, endDate, notes);
+            return idempotencyService.execute(idempotencyKey, fingerprint,
+                    () -> create(userId, itemId, startDate, endDate, notes));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid idempotent booking request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IdempotencyService.KeyReusedException e) {
+            log.warn("Idempotency-Key reused for a different booking request");
+            return ResponseEntity.unprocessableEntity().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            log.warn("Idempotent booking request still in progress: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error creating idempotent booking", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
 
+    private ResponseEntity<?> create(UUID userId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate,
+                                     String notes) {
         try {
             log.info("Creating booking for user {} and item {} from {} to {}",
                     userId, itemId, startDate, endDate);
 
-            Booking booking = bookingService.createBooking(userId, itemId, startDate, endDate, notes);
+            Booking booking = bookingWriteShards.execute(itemId,
+                    () -> bookingService.createBooking(userId, itemId, startDate, endDate, notes));
 
             log.info("Booking created successfully with ID: {}", booking.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+            return ResponseEntity.status(HttpStatus.CREATED).body(BookingResponse.from(booking));
 
         } catch (IllegalArgumentException e) {
             log.warn("Invalid booking request: {}", e.getMessage());
             return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Booking lane for item {} is saturated", itemId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(createErrorResponse("Too many pending bookings for this item"));
         } catch (Exception e) {
             log.error("Unexpected error creating booking", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -49,14 +108,154 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBookings(@RequestBody List<BookingRequest> requests) {
+        if (requests.isEmpty() || requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Batch must contain between 1 and " + maxBatchSize + " bookings"));
+        }
+
+        try {
+            List<BatchBookingResult> results = bookingService.createBookings(requests);
+            return ResponseEntity.ok(results);
+
+        } catch (IllegalStateException e) {
+            log.warn("Booking batch not created: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error creating booking batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
+    /**
+     * Places a hold that blocks the dates for {@code ttlSeconds}, or {@code booking.holds.ttl},
+     * until it is confirmed with {@code POST /holds/{id}/confirm}.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<?> createHold(
+            @RequestParam UUID userId,
+            @RequestParam UUID itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false, defaultValue = "") String notes,
+            @RequestParam(required = false) Long ttlSeconds) {
+        try {
+            log.info("Placing hold for user {} and item {} from {} to {}",
+                    userId, itemId, startDate, endDate);
+
+            Duration ttl = ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds);
+            Booking hold = bookingWriteShards.execute(itemId,
+                    () -> bookingHoldService.placeHold(userId, itemId, startDate, endDate, notes, ttl));
+
+            log.info("Hold placed with ID: {} until {}", hold.getId(), hold.getHoldExpiresAt());
+            return ResponseEntity.status(HttpStatus.CREATED).body(BookingHoldResponse.from(hold));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid hold request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Booking lane for item {} is saturated", itemId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(createErrorResponse("Too many pending bookings for this item"));
+        } catch (Exception e) {
+            log.error("Unexpected error placing hold", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
+    /**
+     * Confirms a hold. Passing the hold's {@code startDate}, as returned when it was placed, lets
+     * the update go to a single partition.
+     */
+    @PostMapping("/holds/{id}/confirm")
+    public ResponseEntity<?> confirmHold(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate) {
+        try {
+            log.info("Confirming hold with ID: {}", id);
+
+            Booking booking = bookingHoldService.confirmHold(id, startDate);
+            return ResponseEntity.ok(BookingResponse.from(booking));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Hold not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            log.warn("Invalid hold confirmation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error confirming hold", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
+    @DeleteMapping("/holds/{id}")
+    public ResponseEntity<?> releaseHold(@PathVariable UUID id) {
+        try {
+            log.info("Releasing hold with ID: {}", id);
+
+            Booking booking = bookingHoldService.releaseHold(id);
+            return ResponseEntity.ok(BookingResponse.from(booking));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Hold not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            log.warn("Invalid hold release: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error releasing hold", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> listBookings(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) UUID itemId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Limit must be between 1 and " + maxPageSize));
+        }
+
+        try {
+            BookingPage page = bookingService.listBookings(userId, itemId, status, from, to, cursor, limit);
+            return ResponseEntity.ok(page);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid booking listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error listing bookings", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getBooking(@PathVariable UUID id) {
         try {
             log.info("Retrieving booking with ID: {}", id);
 
-            Booking booking = bookingService.getBooking(id);
+            BookingResponse booking = bookingService.getBookingResponse(id);
 
-            log.info("Booking retrieved successfully: {}", booking.getId());
+            log.info("Booking retrieved successfully: {}", booking.id());
             return ResponseEntity.ok(booking);
 
         } catch (IllegalArgumentException e) {
@@ -70,6 +269,29 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelBooking(@PathVariable UUID id) {
+        try {
+            log.info("Cancelling booking with ID: {}", id);
+
+            Booking booking = bookingService.cancelBooking(id);
+            return ResponseEntity.ok(BookingResponse.from(booking));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Booking not found: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            log.warn("Invalid cancellation request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error cancelling booking", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
     private Map<String, String> createErrorResponse(String message) {
         Map<String, String> error = new HashMap<>();
         error.put("message", message);
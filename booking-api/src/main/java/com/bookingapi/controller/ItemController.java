@@ -0,0 +1,66 @@
+package com.bookingapi.controller;
+
+import com.bookingapi.dto.ItemPage;
+import com.bookingapi.service.ItemAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/items")
+@RequiredArgsConstructor
+public class ItemController {
+
+    private final ItemAvailabilityService itemAvailabilityService;
+
+    @Value("${booking.listing.max-page-size:200}")
+    private int maxPageSize;
+
+    @GetMapping("/available")
+    public ResponseEntity<?> findAvailableItems(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Limit must be between 1 and " + maxPageSize));
+        }
+
+        try {
+            log.info("Searching items available from {} to {}", start, end);
+
+            ItemPage page = itemAvailabilityService.findAvailable(start, end, category, location,
+                    maxPrice, cursor, limit);
+            return ResponseEntity.ok(page);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid availability search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error searching available items", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Internal server error"));
+        }
+    }
+
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return error;
+    }
+}
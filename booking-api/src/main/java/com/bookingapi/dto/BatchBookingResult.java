@@ -0,0 +1,27 @@
+package com.bookingapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchBookingResult {
+    private int index;
+    private boolean success;
+    private UUID bookingId;
+    private String message;
+
+    public static BatchBookingResult created(int index, UUID bookingId) {
+        return new BatchBookingResult(index, true, bookingId, null);
+    }
+
+    public static BatchBookingResult failed(int index, String message) {
+        return new BatchBookingResult(index, false, null, message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.bookingapi.dto;
+
+import com.bookingapi.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * API view of a hold: the pending booking and when it is released unless confirmed.
+ */
+public record BookingHoldResponse(BookingResponse booking, LocalDateTime expiresAt) {
+
+    public static BookingHoldResponse from(Booking booking) {
+        return new BookingHoldResponse(BookingResponse.from(booking), booking.getHoldExpiresAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.bookingapi.dto;
+
+import java.util.List;
+
+/**
+ * One page of a booking listing. {@code nextCursor} is passed back as {@code cursor} to fetch
+ * the following page and is {@code null} on the last page.
+ */
+public record BookingPage(List<BookingResponse> items, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package com.bookingapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingRequest {
+    private UUID userId;
+    private UUID itemId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String notes;
+}
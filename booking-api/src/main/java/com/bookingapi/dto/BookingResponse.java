@@ -0,0 +1,43 @@
+package com.bookingapi.dto;
+
+import com.bookingapi.entity.Booking;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * API view of a booking. Carries the user and item only by id, so it can be built from the
+ * {@code bookings} row alone and serialized without touching lazy associations.
+ */
+@JsonSerialize(using = BookingResponseSerializer.class)
+public record BookingResponse(UUID id,
+                              UUID userId,
+                              UUID itemId,
+                              LocalDateTime startDate,
+                              LocalDateTime endDate,
+                              BigDecimal totalPrice,
+                              Booking.BookingStatus status,
+                              String notes,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+
+    /**
+     * Maps a booking already in hand. Reading the association ids does not initialize lazy
+     * proxies.
+     */
+    public static BookingResponse from(Booking booking) {
+        return new BookingResponse(
+                booking.getId(),
+                booking.getUser() == null ? null : booking.getUser().getId(),
+                booking.getItem() == null ? null : booking.getItem().getId(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getTotalPrice(),
+                booking.getStatus(),
+                booking.getNotes(),
+                booking.getCreatedAt(),
+                booking.getUpdatedAt());
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookingapi.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Writes {@link BookingResponse} field by field with pre-encoded names, skipping Jackson's bean
+ * introspection and per-property reflection. The output keeps the shape clients already read:
+ * ISO-8601 dates and {@code user}/{@code item} objects holding the id.
+ */
+public class BookingResponseSerializer extends StdSerializer<BookingResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USER = new SerializedString("user");
+    private static final SerializableString ITEM = new SerializedString("item");
+    private static final SerializableString START_DATE = new SerializedString("startDate");
+    private static final SerializableString END_DATE = new SerializedString("endDate");
+    private static final SerializableString TOTAL_PRICE = new SerializedString("totalPrice");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString NOTES = new SerializedString("notes");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    public BookingResponseSerializer() {
+        super(BookingResponse.class);
+    }
+
+    @Override
+    public void serialize(BookingResponse booking, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeUuid(gen, ID, booking.id());
+        writeReference(gen, USER, booking.userId());
+        writeReference(gen, ITEM, booking.itemId());
+        writeDateTime(gen, START_DATE, booking.startDate());
+        writeDateTime(gen, END_DATE, booking.endDate());
+        gen.writeFieldName(TOTAL_PRICE);
+        if (booking.totalPrice() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(booking.totalPrice());
+        }
+        gen.writeFieldName(STATUS);
+        if (booking.status() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(booking.status().name());
+        }
+        gen.writeFieldName(NOTES);
+        gen.writeString(booking.notes());
+        writeDateTime(gen, CREATED_AT, booking.createdAt());
+        writeDateTime(gen, UPDATED_AT, booking.updatedAt());
+        gen.writeEndObject();
+    }
+
+    private static void writeReference(JsonGenerator gen, SerializableString name, UUID id) throws IOException {
+        gen.writeFieldName(name);
+        if (id == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeUuid(gen, ID, id);
+        gen.writeEndObject();
+    }
+
+    private static void writeUuid(JsonGenerator gen, SerializableString name, UUID value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value == null ? null : value.toString());
+    }
+
+    private static void writeDateTime(JsonGenerator gen, SerializableString name, LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+    }
+}
@@ -0,0 +1,12 @@
+package com.bookingapi.dto;
+
+import com.bookingapi.entity.Item;
+
+import java.util.List;
+
+/**
+ * One page of an item search. {@code nextCursor} is passed back as {@code cursor} to fetch the
+ * following page and is {@code null} on the last page.
+ */
+public record ItemPage(List<Item> items, String nextCursor) {
+}
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,26 +19,30 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Builder
+// Partial indexes (active item ranges, pending hold expiry, lifecycle) exist only in the migrations
 @Table(name = "bookings", indexes = {
-    @Index(name = "idx_bookings_user_id", columnList = "user_id"),
-    @Index(name = "idx_bookings_item_id", columnList = "item_id"),
+    @Index(name = "idx_bookings_user_start_id", columnList = "user_id, start_date, id"),
+    @Index(name = "idx_bookings_item_start_id", columnList = "item_id, start_date, id"),
     @Index(name = "idx_bookings_status", columnList = "status"),
-    @Index(name = "idx_bookings_start_date", columnList = "start_date"),
     @Index(name = "idx_bookings_end_date", columnList = "end_date"),
     @Index(name = "idx_bookings_date_range", columnList = "start_date, end_date")
 })
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "UUID")
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
@@ -56,6 +62,10 @@ public class Booking {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    /** When a {@code PENDING} hold lapses unless confirmed; null for bookings made directly. */
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
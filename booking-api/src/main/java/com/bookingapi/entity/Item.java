@@ -17,6 +17,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(ItemChangeListener.class)
 @Table(name = "items", indexes = {
     @Index(name = "idx_items_category", columnList = "category"),
     @Index(name = "idx_items_available", columnList = "is_available"),
@@ -26,7 +27,7 @@ import java.util.UUID;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -0,0 +1,42 @@
+package com.bookingapi.entity;
+
+import com.bookingapi.event.ItemChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes an {@link ItemChangedEvent} application event whenever an {@link Item} row is
+ * written, so caches can invalidate exactly the affected entries once the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(Item item) {
+        publish(item, ItemChangedEvent.ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdated(Item item) {
+        publish(item, ItemChangedEvent.ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDeleted(Item item) {
+        publish(item, ItemChangedEvent.ChangeType.DELETED);
+    }
+
+    private void publish(Item item, ItemChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new ItemChangedEvent(
+                item.getId(), item.getCategory(), item.getLocation(), changeType, LocalDateTime.now()));
+    }
+}
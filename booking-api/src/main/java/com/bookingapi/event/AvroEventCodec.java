@@ -0,0 +1,269 @@
+package com.bookingapi.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary encoding of {@link BookingCreatedEvent} and {@link UserRegisteredEvent} in Avro's
+ * single-object format: a two-byte marker, the writer schema's fingerprint, then the record.
+ *
+ * <p>Events are written with the latest registered version of their subject and decoded into
+ * the latest version from whichever registered version wrote them. The marker lets readers tell
+ * a binary record from JSON, so both encodings can share a topic while producers switch over.
+ * UUIDs are 16-byte fixed values, timestamps microseconds and prices unscaled cents, instead of
+ * the ISO strings and named fields JSON carries. Timestamps lose anything below a microsecond,
+ * which the database does not store either.</p>
+ */
+public class AvroEventCodec {
+
+    public static final String BOOKING_CREATED_SUBJECT = "booking_created-value";
+    public static final String USER_REGISTERED_SUBJECT = "user_registered-value";
+
+    private static final byte[] MARKER = {(byte) 0xC3, (byte) 0x01};
+    private static final int HEADER_LENGTH = MARKER.length + Long.BYTES;
+
+    /** Matches the decimal scale of {@code totalPrice} in the schema and the bookings table. */
+    private static final int PRICE_SCALE = 2;
+
+    private final SchemaRegistry registry;
+    private final Map<Class<?>, Mapping<?>> byType = new HashMap<>();
+    private final Map<String, Mapping<?>> byRecordName = new HashMap<>();
+
+    public AvroEventCodec(SchemaRegistry registry) {
+        this.registry = registry;
+        add(new BookingCreatedMapping(registry.latest(BOOKING_CREATED_SUBJECT), registry));
+        add(new UserRegisteredMapping(registry.latest(USER_REGISTERED_SUBJECT), registry));
+    }
+
+    public boolean supports(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    /**
+     * Whether {@code data} starts with the single-object marker rather than JSON.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_LENGTH && data[0] == MARKER[0] && data[1] == MARKER[1];
+    }
+
+    public byte[] encode(Object event) {
+        Mapping<?> mapping = byType.get(event.getClass());
+        if (mapping == null) {
+            throw new IllegalArgumentException("No Avro schema for event type " + event.getClass().getSimpleName());
+        }
+        return mapping.encode(event);
+    }
+
+    public Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Not an Avro single-object record");
+        }
+        long fingerprint = ByteBuffer.wrap(data, MARKER.length, Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        Schema writer = registry.findByFingerprint(fingerprint);
+        if (writer == null) {
+            throw new IllegalArgumentException("Unknown writer schema fingerprint " + Long.toHexString(fingerprint));
+        }
+        Mapping<?> mapping = byRecordName.get(writer.getFullName());
+        if (mapping == null) {
+            throw new IllegalArgumentException("No event type for record " + writer.getFullName());
+        }
+        return mapping.decode(data);
+    }
+
+    private void add(Mapping<?> mapping) {
+        byType.put(mapping.type, mapping);
+        byRecordName.put(mapping.schema.getFullName(), mapping);
+    }
+
+    /**
+     * Converts one event type to and from a {@link GenericRecord} of its latest schema.
+     * Encoder and decoder are thread-safe and reuse per-thread buffers.
+     */
+    private abstract static class Mapping<T> {
+
+        final Class<T> type;
+        final Schema schema;
+        private final Map<String, Schema> fieldTypes;
+        private final BinaryMessageEncoder<GenericRecord> encoder;
+        private final BinaryMessageDecoder<GenericRecord> decoder;
+
+        Mapping(Class<T> type, Schema schema, SchemaRegistry registry) {
+            this.type = type;
+            this.schema = schema;
+            this.fieldTypes = nonNullBranches(schema);
+            this.encoder = new BinaryMessageEncoder<>(GenericData.get(), schema, false);
+            this.decoder = new BinaryMessageDecoder<>(GenericData.get(), schema, registry);
+        }
+
+        abstract GenericRecord toRecord(T event);
+
+        abstract T fromRecord(GenericRecord record);
+
+        byte[] encode(Object event) {
+            try {
+                ByteBuffer buffer = encoder.encode(toRecord(type.cast(event)));
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return bytes;
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to encode " + type.getSimpleName(), e);
+            }
+        }
+
+        T decode(byte[] data) {
+            try {
+                return fromRecord(decoder.decode(data));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to decode " + type.getSimpleName(), e);
+            }
+        }
+
+        GenericData.Fixed fixed(String field, UUID value) {
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(16)
+                    .putLong(value.getMostSignificantBits())
+                    .putLong(value.getLeastSignificantBits());
+            return new GenericData.Fixed(fieldTypes.get(field), bytes.array());
+        }
+
+        private static Map<String, Schema> nonNullBranches(Schema schema) {
+            Map<String, Schema> branches = new HashMap<>();
+            for (Schema.Field field : schema.getFields()) {
+                Schema fieldSchema = field.schema();
+                branches.put(field.name(), fieldSchema.isUnion()
+                        ? fieldSchema.getTypes().stream()
+                            .filter(branch -> branch.getType() != Schema.Type.NULL)
+                            .findFirst()
+                            .orElseThrow()
+                        : fieldSchema);
+            }
+            return Map.copyOf(branches);
+        }
+
+        static UUID uuid(Object value) {
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(((GenericData.Fixed) value).bytes());
+            return new UUID(bytes.getLong(), bytes.getLong());
+        }
+
+        static Long micros(LocalDateTime value) {
+            if (value == null) {
+                return null;
+            }
+            return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+        }
+
+        static LocalDateTime dateTime(Object value) {
+            if (value == null) {
+                return null;
+            }
+            long micros = (Long) value;
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        static ByteBuffer unscaled(BigDecimal value) {
+            if (value == null) {
+                return null;
+            }
+            return ByteBuffer.wrap(value.setScale(PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().toByteArray());
+        }
+
+        static BigDecimal price(Object value) {
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new BigDecimal(new BigInteger(bytes), PRICE_SCALE);
+        }
+
+        static String string(Object value) {
+            return value == null ? null : value.toString();
+        }
+    }
+
+    private static final class BookingCreatedMapping extends Mapping<BookingCreatedEvent> {
+
+        BookingCreatedMapping(Schema schema, SchemaRegistry registry) {
+            super(BookingCreatedEvent.class, schema, registry);
+        }
+
+        @Override
+        GenericRecord toRecord(BookingCreatedEvent event) {
+            GenericRecord record = new GenericData.Record(schema);
+            record.put("bookingId", fixed("bookingId", event.getBookingId()));
+            record.put("userId", fixed("userId", event.getUserId()));
+            record.put("itemName", event.getItemName());
+            record.put("startDate", micros(event.getStartDate()));
+            record.put("endDate", micros(event.getEndDate()));
+            record.put("totalPrice", unscaled(event.getTotalPrice()));
+            record.put("status", event.getStatus());
+            record.put("createdAt", micros(event.getCreatedAt()));
+            return record;
+        }
+
+        @Override
+        BookingCreatedEvent fromRecord(GenericRecord record) {
+            return BookingCreatedEvent.builder()
+                    .bookingId(uuid(record.get("bookingId")))
+                    .userId(uuid(record.get("userId")))
+                    .itemName(string(record.get("itemName")))
+                    .startDate(dateTime(record.get("startDate")))
+                    .endDate(dateTime(record.get("endDate")))
+                    .totalPrice(price(record.get("totalPrice")))
+                    .status(string(record.get("status")))
+                    .createdAt(dateTime(record.get("createdAt")))
+                    .build();
+        }
+    }
+
+    private static final class UserRegisteredMapping extends Mapping<UserRegisteredEvent> {
+
+        UserRegisteredMapping(Schema schema, SchemaRegistry registry) {
+            super(UserRegisteredEvent.class, schema, registry);
+        }
+
+        @Override
+        GenericRecord toRecord(UserRegisteredEvent event) {
+            GenericRecord record = new GenericData.Record(schema);
+            record.put("userId", fixed("userId", event.getUserId()));
+            record.put("email", event.getEmail());
+            record.put("firstName", event.getFirstName());
+            record.put("lastName", event.getLastName());
+            record.put("registeredAt", micros(event.getRegisteredAt()));
+            return record;
+        }
+
+        @Override
+        UserRegisteredEvent fromRecord(GenericRecord record) {
+            return UserRegisteredEvent.builder()
+                    .userId(uuid(record.get("userId")))
+                    .email(string(record.get("email")))
+                    .firstName(string(record.get("firstName")))
+                    .lastName(string(record.get("lastName")))
+                    .registeredAt(dateTime(record.get("registeredAt")))
+                    .build();
+        }
+    }
+}
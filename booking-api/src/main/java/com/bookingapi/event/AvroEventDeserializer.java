@@ -0,0 +1,45 @@
+package com.bookingapi.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * Reads records written by {@link AvroEventSerializer} and passes everything else to
+ * {@code fallback}, normally the JSON deserializer. Each record is checked for the Avro marker,
+ * so a topic can carry both encodings while its producers migrate.
+ */
+public class AvroEventDeserializer implements Deserializer<Object> {
+
+    private final AvroEventCodec codec;
+    private final Deserializer<Object> fallback;
+
+    public AvroEventDeserializer(AvroEventCodec codec, Deserializer<Object> fallback) {
+        this.codec = codec;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (AvroEventCodec.isBinary(data)) {
+            return codec.decode(data);
+        }
+        return headers == null ? fallback.deserialize(topic, data) : fallback.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
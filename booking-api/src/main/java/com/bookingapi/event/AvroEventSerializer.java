@@ -0,0 +1,44 @@
+package com.bookingapi.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Writes events that have an Avro schema in the binary format of {@link AvroEventCodec} and
+ * hands every other value to {@code fallback}, normally the JSON serializer.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+
+    private final AvroEventCodec codec;
+    private final Serializer<Object> fallback;
+
+    public AvroEventSerializer(AvroEventCodec codec, Serializer<Object> fallback) {
+        this.codec = codec;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data != null && codec.supports(data.getClass())) {
+            return codec.encode(data);
+        }
+        return headers == null ? fallback.serialize(topic, data) : fallback.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
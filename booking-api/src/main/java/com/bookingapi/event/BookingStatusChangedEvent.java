@@ -0,0 +1,34 @@
+package com.bookingapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Status changes of many bookings made by one lifecycle transition, published as one record.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingStatusChangedEvent {
+    private List<Change> changes;
+    private LocalDateTime changedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Change {
+        private UUID bookingId;
+        private UUID userId;
+        private UUID itemId;
+        private String previousStatus;
+        private String status;
+    }
+}
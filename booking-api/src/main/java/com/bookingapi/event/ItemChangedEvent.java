@@ -0,0 +1,27 @@
+package com.bookingapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemChangedEvent {
+    private UUID itemId;
+    private String category;
+    private String location;
+    private ChangeType changeType;
+    private LocalDateTime changedAt;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,122 @@
+package com.bookingapi.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaNormalization;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process {@link SchemaRegistry} holding the schemas bundled with the service.
+ *
+ * <p>Stands in for a shared registry server: every service loads the same {@code .avsc} files
+ * and fingerprints are derived from the schema itself, so no ids have to be agreed at runtime.
+ * Tests create an empty instance and register the versions they need.</p>
+ */
+@Slf4j
+public class LocalSchemaRegistry implements SchemaRegistry {
+
+    /** {@code <subject>.v<version>.avsc}, e.g. {@code booking_created-value.v1.avsc}. */
+    private static final Pattern SCHEMA_FILE = Pattern.compile("(.+)\\.v(\\d+)\\.avsc");
+
+    private final Map<String, List<Schema>> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Schema> byFingerprint = new ConcurrentHashMap<>();
+
+    /**
+     * Registers every schema file matching {@code locationPattern} in version order per subject.
+     */
+    public void registerAll(String locationPattern) {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources(locationPattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list schemas at " + locationPattern, e);
+        }
+
+        List<SchemaFile> files = new ArrayList<>();
+        for (Resource resource : resources) {
+            Matcher matcher = SCHEMA_FILE.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Schema file name must be <subject>.v<version>.avsc: " + resource);
+            }
+            files.add(new SchemaFile(matcher.group(1), Integer.parseInt(matcher.group(2)), resource));
+        }
+        files.sort(Comparator.comparing(SchemaFile::subject).thenComparingInt(SchemaFile::version));
+
+        for (SchemaFile file : files) {
+            int registered = register(file.subject(), parse(file.resource()));
+            if (registered != file.version()) {
+                throw new IllegalArgumentException("Schema " + file.resource().getFilename()
+                        + " was registered as version " + registered + "; versions must be numbered from 1 without gaps");
+            }
+        }
+        log.info("Registered {} event schemas from {}", files.size(), locationPattern);
+    }
+
+    @Override
+    public synchronized int register(String subject, Schema schema) {
+        List<Schema> subjectVersions = versions.computeIfAbsent(subject, s -> new CopyOnWriteArrayList<>());
+        long fingerprint = SchemaNormalization.parsingFingerprint64(schema);
+        for (int i = 0; i < subjectVersions.size(); i++) {
+            if (SchemaNormalization.parsingFingerprint64(subjectVersions.get(i)) == fingerprint) {
+                return i + 1;
+            }
+        }
+
+        for (int i = 0; i < subjectVersions.size(); i++) {
+            Schema earlier = subjectVersions.get(i);
+            checkCompatible(subject, i + 1, earlier, schema);
+            checkCompatible(subject, i + 1, schema, earlier);
+        }
+        subjectVersions.add(schema);
+        byFingerprint.put(fingerprint, schema);
+        return subjectVersions.size();
+    }
+
+    @Override
+    public Schema latest(String subject) {
+        List<Schema> subjectVersions = versions.get(subject);
+        if (subjectVersions == null || subjectVersions.isEmpty()) {
+            throw new IllegalArgumentException("No schema registered for subject " + subject);
+        }
+        return subjectVersions.get(subjectVersions.size() - 1);
+    }
+
+    @Override
+    public Schema findByFingerprint(long fingerprint) {
+        return byFingerprint.get(fingerprint);
+    }
+
+    private static void checkCompatible(String subject, int version, Schema reader, Schema writer) {
+        SchemaCompatibility.SchemaPairCompatibility result =
+                SchemaCompatibility.checkReaderWriterCompatibility(reader, writer);
+        if (result.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+            throw new IllegalArgumentException("New schema for " + subject + " is not compatible with version "
+                    + version + ": " + result.getDescription());
+        }
+    }
+
+    private static Schema parse(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read schema " + resource, e);
+        }
+    }
+
+    private record SchemaFile(String subject, int version, Resource resource) {
+    }
+}
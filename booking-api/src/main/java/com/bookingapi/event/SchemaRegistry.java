@@ -0,0 +1,36 @@
+package com.bookingapi.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.message.SchemaStore;
+
+/**
+ * Versioned Avro schemas of the events on the wire, grouped by subject ({@code <topic>-value}).
+ *
+ * <p>Every binary record carries the 64-bit fingerprint of the schema it was written with, so a
+ * reader looks the writer schema up here and resolves it against its own version. A new version
+ * must be fully compatible with every earlier one of its subject: old readers can read new
+ * records and new readers can read old ones, which lets producers and consumers upgrade
+ * independently.</p>
+ */
+public interface SchemaRegistry extends SchemaStore {
+
+    /**
+     * Registers {@code schema} as the next version of {@code subject}. Registering a schema that
+     * is already a version of the subject returns that version.
+     *
+     * @return the version number, starting at 1
+     * @throws IllegalArgumentException when the schema is not compatible with an earlier version
+     */
+    int register(String subject, Schema schema);
+
+    /**
+     * @throws IllegalArgumentException when nothing is registered under {@code subject}
+     */
+    Schema latest(String subject);
+
+    /**
+     * @return the schema with this parsing fingerprint, or {@code null} when it is unknown
+     */
+    @Override
+    Schema findByFingerprint(long fingerprint);
+}
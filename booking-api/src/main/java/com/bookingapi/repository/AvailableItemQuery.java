@@ -0,0 +1,20 @@
+package com.bookingapi.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One page of items that are free over {@code [start, end]}, ordered by id. Category, location
+ * and price filters are optional.
+ *
+ * @param afterId id of the last item on the previous page, or {@code null} for the first page
+ */
+public record AvailableItemQuery(LocalDateTime start,
+                                 LocalDateTime end,
+                                 String category,
+                                 String location,
+                                 BigDecimal maxPrice,
+                                 UUID afterId,
+                                 int limit) {
+}
@@ -0,0 +1,25 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One page of a booking listing, ordered by {@code (start_date, id)}. Exactly one of
+ * {@code userId} and {@code itemId} is set; the remaining filters are optional.
+ *
+ * @param from            inclusive lower bound on the start date
+ * @param to              exclusive upper bound on the start date
+ * @param afterStartDate  start date of the last row on the previous page, or {@code null} for the first page
+ * @param afterId         id of the last row on the previous page
+ */
+public record BookingListQuery(UUID userId,
+                               UUID itemId,
+                               Booking.BookingStatus status,
+                               LocalDateTime from,
+                               LocalDateTime to,
+                               LocalDateTime afterStartDate,
+                               UUID afterId,
+                               int limit) {
+}
@@ -1,5 +1,6 @@
 package com.bookingapi.repository;
 
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
 import com.bookingapi.entity.Item;
 import com.bookingapi.entity.User;
@@ -9,11 +10,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, BookingRepositoryCustom {
 
     List<Booking> findByUser(User user);
 
@@ -21,21 +24,32 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     List<Booking> findByStatus(Booking.BookingStatus status);
 
+    /**
+     * Reads one booking straight into its response model by primary key. The user and item ids
+     * come from the foreign key columns, so no association is joined or loaded.
+     */
+    @Query("SELECT new com.bookingapi.dto.BookingResponse(b.id, b.user.id, b.item.id, b.startDate, b.endDate, " +
+           "b.totalPrice, b.status, b.notes, b.createdAt, b.updatedAt) FROM Booking b WHERE b.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") UUID id);
+
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.status NOT IN ('CANCELLED', 'COMPLETED')")
     List<Booking> findActiveBookingsByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.item.id = :itemId AND " +
-           "(b.startDate <= :endDate AND b.endDate >= :startDate) AND " +
-           "b.status NOT IN ('CANCELLED', 'COMPLETED')")
+    /**
+     * Whether a booking that still blocks the item overlaps the period, bounds inclusive. Reads
+     * {@code booking_claims}, which holds exactly those bookings in one table, so the answer does not
+     * depend on how many monthly partitions of {@code bookings} the overlap could fall into.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM booking_claims c WHERE c.item_id = :itemId " +
+                   "AND c.period && tsrange(:startDate, :endDate, '[]'))", nativeQuery = true)
     boolean isItemBookedInDateRange(@Param("itemId") UUID itemId,
                                    @Param("startDate") LocalDateTime startDate,
                                    @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(b.startDate BETWEEN :startDate AND :endDate OR " +
-           "b.endDate BETWEEN :startDate AND :endDate OR " +
-           "b.startDate <= :startDate AND b.endDate >= :endDate) AND " +
-           "b.status NOT IN ('CANCELLED', 'COMPLETED')")
+    // The join on the partition key lets each claim probe a single partition of bookings
+    @Query(value = "SELECT b.* FROM booking_claims c " +
+                   "JOIN bookings b ON b.id = c.booking_id AND b.start_date = lower(c.period) " +
+                   "WHERE c.period && tsrange(:startDate, :endDate, '[]')", nativeQuery = true)
     List<Booking> findOverlappingBookings(@Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
 
@@ -43,10 +57,24 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     List<Booking> findByItemId(UUID id);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND " +
-           "(b.startDate <= :endDate AND b.endDate >= :startDate) AND " +
-           "b.status NOT IN ('CANCELLED', 'COMPLETED')")
+    @Query(value = "SELECT b.* FROM booking_claims c " +
+                   "JOIN bookings b ON b.id = c.booking_id AND b.start_date = lower(c.period) " +
+                   "WHERE c.item_id = :itemId AND c.period && tsrange(:startDate, :endDate, '[]')",
+           nativeQuery = true)
     List<Booking> findConflictingBookings(@Param("itemId") UUID itemId,
                                         @Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
+
+    @Query(value = "SELECT c.booking_id AS id, c.item_id AS \"itemId\", lower(c.period) AS \"startDate\", " +
+                   "upper(c.period) AS \"endDate\" FROM booking_claims c " +
+                   "WHERE c.period && tsrange(:from, NULL, '[]')", nativeQuery = true)
+    List<BookingSlot> findActiveBookingSlots(@Param("from") LocalDateTime from);
+
+    @Query(value = "SELECT c.booking_id AS id, c.item_id AS \"itemId\", lower(c.period) AS \"startDate\", " +
+                   "upper(c.period) AS \"endDate\" FROM booking_claims c " +
+                   "WHERE c.item_id IN (:itemIds) AND c.period && tsrange(:startDate, :endDate, '[]')",
+           nativeQuery = true)
+    List<BookingSlot> findConflictingBookingSlots(@Param("itemIds") Collection<UUID> itemIds,
+                                                  @Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.dto.BookingResponse;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Reads up to {@code query.limit()} bookings after the given keyset position. The SQL only
+     * contains the filters actually set, so each shape is a range scan on the matching
+     * {@code (user_id|item_id, start_date, id)} index and costs the same at any page depth.
+     */
+    List<BookingResponse> findPage(BookingListQuery query);
+
+    /**
+     * Months that have their own partition of {@code bookings}, in order. Bookings in other months
+     * are in the {@code bookings_default} partition.
+     */
+    List<YearMonth> findMonthlyPartitions();
+
+    /**
+     * Takes the advisory lock that serializes partition maintenance across instances, held until
+     * the surrounding transaction ends.
+     *
+     * @return false when another instance holds it
+     */
+    boolean tryLockPartitionMaintenance();
+
+    /**
+     * Creates the partition for {@code month}. Bookings for that month already in the default
+     * partition are moved into it, together with their claims.
+     *
+     * @return the number of bookings moved out of the default partition
+     */
+    int createMonthlyPartition(YearMonth month);
+
+    /**
+     * Detaches the partition for {@code month} and releases the claims of its bookings. The
+     * detached table is moved to {@code archiveSchema} without its foreign keys, or dropped when
+     * {@code archiveSchema} is null.
+     *
+     * @return the number of bookings the partition held
+     */
+    long archiveMonthlyPartition(YearMonth month, String archiveSchema);
+
+    /**
+     * Turns a pending hold that has not run out into a {@code CONFIRMED} booking. A known
+     * {@code startDate} (the partition key) limits the update to one partition; {@code null}
+     * searches them all.
+     *
+     * @return false when {@code id} is not a pending hold starting at {@code startDate} or its
+     *         hold ran out before {@code now}
+     */
+    boolean confirmHold(UUID id, LocalDateTime startDate, LocalDateTime now);
+
+    /**
+     * Pending holds running out before {@code before}, earliest first.
+     */
+    List<PendingHold> findPendingHolds(LocalDateTime before);
+
+    /**
+     * Cancels those of {@code holds} that are still pending and ran out by {@code now}, in one
+     * statement. Holds confirmed or released in the meantime are left alone.
+     *
+     * @return the bookings released
+     */
+    List<BookingSlot> releaseExpiredHolds(List<PendingHold> holds, LocalDateTime now);
+
+    /**
+     * Moves up to {@code limit} {@code CONFIRMED} or {@code PAID} bookings that started by
+     * {@code now} to {@code ACTIVE}, or straight to {@code COMPLETED} when they also ended. Rows
+     * locked by another transaction are skipped rather than waited for.
+     */
+    List<BookingTransition> activateDueBookings(LocalDateTime now, int limit);
+
+    /**
+     * Moves up to {@code limit} {@code ACTIVE} bookings that ended by {@code now} to
+     * {@code COMPLETED}, skipping rows locked by another transaction.
+     */
+    List<BookingTransition> completeDueBookings(LocalDateTime now, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.dto.BookingResponse;
+import com.bookingapi.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, user_id, item_id, start_date, end_date, total_price, status, notes, created_at, updated_at " +
+            "FROM bookings WHERE ";
+
+    private static final RowMapper<BookingResponse> RESPONSE_MAPPER = (rs, rowNum) -> new BookingResponse(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("item_id", UUID.class),
+            rs.getObject("start_date", LocalDateTime.class),
+            rs.getObject("end_date", LocalDateTime.class),
+            rs.getBigDecimal("total_price"),
+            Booking.BookingStatus.valueOf(rs.getString("status")),
+            rs.getString("notes"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private static final RowMapper<BookingSlot> SLOT_MAPPER = (rs, rowNum) -> new Slot(
+            rs.getObject("id", UUID.class),
+            rs.getObject("item_id", UUID.class),
+            rs.getObject("start_date", LocalDateTime.class),
+            rs.getObject("end_date", LocalDateTime.class));
+
+    // Joining on the full key lets each hold probe only the partition of its start month
+    private static final String RELEASE_EXPIRED_HOLDS =
+            "UPDATE bookings b SET status = 'CANCELLED', updated_at = ? " +
+            "FROM unnest(?::uuid[], ?::timestamp[]) AS h(id, start_date) " +
+            "WHERE b.id = h.id AND b.start_date = h.start_date " +
+            "AND b.status = 'PENDING' AND b.hold_expires_at <= ? " +
+            "RETURNING b.id, b.item_id, b.start_date, b.end_date";
+
+    private static final RowMapper<BookingTransition> TRANSITION_MAPPER = (rs, rowNum) -> new BookingTransition(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("item_id", UUID.class),
+            rs.getObject("start_date", LocalDateTime.class),
+            rs.getObject("end_date", LocalDateTime.class),
+            Booking.BookingStatus.valueOf(rs.getString("previous_status")),
+            Booking.BookingStatus.valueOf(rs.getString("status")));
+
+    // The due rows are locked first, so their status read here is the one being replaced;
+    // start_date <= now on both keeps future partitions out of the plan
+    private static final String ACTIVATE_DUE_BOOKINGS =
+            "WITH due AS (SELECT id, start_date, status FROM bookings " +
+            "WHERE status IN ('CONFIRMED', 'PAID') AND start_date <= ? LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "UPDATE bookings b SET status = CASE WHEN b.end_date <= ? THEN 'COMPLETED' ELSE 'ACTIVE' END, updated_at = ? " +
+            "FROM due WHERE b.id = due.id AND b.start_date = due.start_date " +
+            "RETURNING b.id, b.user_id, b.item_id, b.start_date, b.end_date, due.status AS previous_status, b.status";
+
+    private static final String COMPLETE_DUE_BOOKINGS =
+            "WITH due AS (SELECT id, start_date, status FROM bookings " +
+            "WHERE status = 'ACTIVE' AND end_date <= ? AND start_date <= ? LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "UPDATE bookings b SET status = 'COMPLETED', updated_at = ? " +
+            "FROM due WHERE b.id = due.id AND b.start_date = due.start_date " +
+            "RETURNING b.id, b.user_id, b.item_id, b.start_date, b.end_date, due.status AS previous_status, b.status";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("bookings_y(\\d{4})m(\\d{2})");
+    private static final String BLOCKING = "status NOT IN ('CANCELLED', 'COMPLETED')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<BookingResponse> findPage(BookingListQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        List<Object> args = new ArrayList<>();
+
+        if (query.userId() != null) {
+            sql.append("user_id = ?");
+            args.add(query.userId());
+        } else {
+            sql.append("item_id = ?");
+            args.add(query.itemId());
+        }
+        if (query.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(query.status().name());
+        }
+        if (query.from() != null) {
+            sql.append(" AND start_date >= ?");
+            args.add(Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND start_date < ?");
+            args.add(Timestamp.valueOf(query.to()));
+        }
+        if (query.afterStartDate() != null) {
+            // Row comparison lets Postgres seek straight to the cursor in the composite index; the
+            // plain bound is implied by it but is what prunes the monthly partitions before the cursor
+            sql.append(" AND start_date >= ? AND (start_date, id) > (?, ?)");
+            args.add(Timestamp.valueOf(query.afterStartDate()));
+            args.add(Timestamp.valueOf(query.afterStartDate()));
+            args.add(query.afterId());
+        }
+        sql.append(" ORDER BY start_date, id LIMIT ?");
+        args.add(query.limit());
+
+        return jdbcTemplate.query(sql.toString(), RESPONSE_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<YearMonth> findMonthlyPartitions() {
+        List<String> names = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'bookings'::regclass", String.class);
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        months.sort(null);
+        return months;
+    }
+
+    @Override
+    public boolean tryLockPartitionMaintenance() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('bookings_partition_maintenance'))", Boolean.class));
+    }
+
+    @Override
+    public int createMonthlyPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        Integer stray = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings_default WHERE start_date >= ? AND start_date < ?", Integer.class, from, to);
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF bookings " + bounds);
+            return 0;
+        }
+
+        // The default partition may not keep rows that belong to a new partition, so they move to a
+        // standalone table that is then attached. Deleting them drops their claims, which are put
+        // back once the rows are visible in bookings again.
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM bookings_default " +
+                "WHERE start_date >= ? AND start_date < ? RETURNING *) INSERT INTO " + partition +
+                " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION " + partition + " " + bounds);
+        jdbcTemplate.update("INSERT INTO booking_claims (booking_id, item_id, period) " +
+                "SELECT id, item_id, tsrange(start_date, end_date, '[]') FROM " + partition + " WHERE " + BLOCKING);
+        return moved;
+    }
+
+    @Override
+    public long archiveMonthlyPartition(YearMonth month, String archiveSchema) {
+        String partition = partitionName(month);
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Long.class);
+        // Detaching does not fire row triggers, so claims of bookings left unfinished go explicitly
+        jdbcTemplate.update("DELETE FROM booking_claims c USING " + partition + " p WHERE c.booking_id = p.id");
+        jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + partition);
+        if (archiveSchema == null) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return rows == null ? 0 : rows;
+        }
+
+        // Archived rows must not stop users or items from being deleted
+        List<String> foreignKeys = jdbcTemplate.queryForList("SELECT conname FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND contype = 'f'", String.class, partition);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT \"" + foreignKey + "\"");
+        }
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+        return rows == null ? 0 : rows;
+    }
+
+    @Override
+    public boolean confirmHold(UUID id, LocalDateTime startDate, LocalDateTime now) {
+        String update = "UPDATE bookings SET status = 'CONFIRMED', hold_expires_at = NULL, updated_at = ? " +
+                "WHERE id = ? AND status = 'PENDING' AND hold_expires_at > ?";
+        if (startDate == null) {
+            // Without the partition key the update probes every partition
+            return jdbcTemplate.update(update, Timestamp.valueOf(now), id, Timestamp.valueOf(now)) > 0;
+        }
+        return jdbcTemplate.update(update + " AND start_date = ?",
+                Timestamp.valueOf(now), id, Timestamp.valueOf(now), Timestamp.valueOf(startDate)) > 0;
+    }
+
+    @Override
+    public List<PendingHold> findPendingHolds(LocalDateTime before) {
+        return jdbcTemplate.query("SELECT id, start_date, hold_expires_at FROM bookings " +
+                "WHERE status = 'PENDING' AND hold_expires_at < ? ORDER BY hold_expires_at",
+                (rs, rowNum) -> new PendingHold(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("start_date", LocalDateTime.class),
+                        rs.getObject("hold_expires_at", LocalDateTime.class)),
+                Timestamp.valueOf(before));
+    }
+
+    @Override
+    public List<BookingSlot> releaseExpiredHolds(List<PendingHold> holds, LocalDateTime now) {
+        if (holds.isEmpty()) {
+            return List.of();
+        }
+        Object[] ids = new Object[holds.size()];
+        Object[] startDates = new Object[holds.size()];
+        for (int i = 0; i < holds.size(); i++) {
+            ids[i] = holds.get(i).id();
+            startDates[i] = Timestamp.valueOf(holds.get(i).startDate());
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RELEASE_EXPIRED_HOLDS);
+            Array idArray = connection.createArrayOf("uuid", ids);
+            Array startDateArray = connection.createArrayOf("timestamp", startDates);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setArray(2, idArray);
+            statement.setArray(3, startDateArray);
+            statement.setTimestamp(4, Timestamp.valueOf(now));
+            return statement;
+        }, SLOT_MAPPER);
+    }
+
+    @Override
+    public List<BookingTransition> activateDueBookings(LocalDateTime now, int limit) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.query(ACTIVATE_DUE_BOOKINGS, TRANSITION_MAPPER, at, limit, at, at);
+    }
+
+    @Override
+    public List<BookingTransition> completeDueBookings(LocalDateTime now, int limit) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.query(COMPLETE_DUE_BOOKINGS, TRANSITION_MAPPER, at, at, limit, at);
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("bookings_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private record Slot(UUID id, UUID itemId, LocalDateTime startDate, LocalDateTime endDate) implements BookingSlot {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+    }
+}
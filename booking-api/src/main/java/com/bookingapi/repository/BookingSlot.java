@@ -0,0 +1,19 @@
+package com.bookingapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of the columns needed to answer availability questions
+ * without materializing {@link com.bookingapi.entity.Booking} entities.
+ */
+public interface BookingSlot {
+
+    UUID getId();
+
+    UUID getItemId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
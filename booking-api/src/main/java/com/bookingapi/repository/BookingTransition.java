@@ -0,0 +1,18 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One booking moved to another status by a lifecycle transition, as returned by the update.
+ */
+public record BookingTransition(UUID id,
+                                UUID userId,
+                                UUID itemId,
+                                LocalDateTime startDate,
+                                LocalDateTime endDate,
+                                Booking.BookingStatus previousStatus,
+                                Booking.BookingStatus status) {
+}
@@ -0,0 +1,55 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Reserves a key for one executing request. Succeeds when the key is new or its row has
+     * expired, including a pending row whose request never completed.
+     *
+     * @return 1 when this caller now owns the key, 0 when another request holds it
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) " +
+                   "VALUES (:key, :requestHash, :now, :expiresAt) " +
+                   "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+                   "status_code = NULL, response_body = NULL, created_at = EXCLUDED.created_at, " +
+                   "expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_keys.expires_at < EXCLUDED.created_at",
+           nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.responseBody = :responseBody, " +
+           "r.expiresAt = :expiresAt WHERE r.key = :key")
+    int complete(@Param("key") String key,
+                 @Param("statusCode") int statusCode,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.statusCode IS NULL")
+    int releasePending(@Param("key") String key);
+
+    /**
+     * Deletes up to {@code limit} expired rows, so a large backlog is cleaned up in short
+     * transactions.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key IN " +
+                   "(SELECT idempotency_key FROM idempotency_keys WHERE expires_at < :now LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
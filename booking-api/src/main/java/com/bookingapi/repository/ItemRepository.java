@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, UUID> {
+public interface ItemRepository extends JpaRepository<Item, UUID>, ItemRepositoryCustom {
 
     List<Item> findByCategory(String category);
 
@@ -19,8 +19,8 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
 
     List<Item> findByLocation(String location);
 
-    @Query("SELECT i FROM Item i WHERE i.isAvailable = true AND i.id NOT IN " +
-           "(SELECT b.item.id FROM Booking b WHERE " +
+    @Query("SELECT i FROM Item i WHERE i.isAvailable = true AND NOT EXISTS " +
+           "(SELECT 1 FROM Booking b WHERE b.item = i AND " +
            "(b.startDate <= :endDate AND b.endDate >= :startDate) AND " +
            "b.status NOT IN ('CANCELLED', 'COMPLETED'))")
     List<Item> findAvailableItemsInDateRange(@Param("startDate") LocalDateTime startDate,
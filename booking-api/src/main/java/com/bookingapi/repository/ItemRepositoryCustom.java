@@ -0,0 +1,15 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.Item;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * Reads one page of available items with no active booking overlapping the requested range.
+     * The overlap check is a correlated {@code NOT EXISTS}, planned as an anti-join that probes
+     * the partial index on active bookings once per candidate item and stops at the page limit.
+     */
+    List<Item> findAvailablePage(AvailableItemQuery query);
+}
@@ -0,0 +1,71 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final String SELECT_AVAILABLE =
+            "SELECT i.id, i.name, i.description, i.category, i.price_per_day, i.max_duration_days, " +
+            "i.is_available, i.location, i.created_at, i.updated_at FROM items i WHERE i.is_available";
+
+    // booking_claims only holds bookings that still block their item; its exclusion constraint's
+    // gist index answers the probe for each item
+    private static final String NO_OVERLAPPING_BOOKING =
+            " AND NOT EXISTS (SELECT 1 FROM booking_claims c WHERE c.item_id = i.id " +
+            "AND c.period && tsrange(?, ?, '[]'))";
+
+    private static final RowMapper<Item> ITEM_MAPPER = (rs, rowNum) -> Item.builder()
+            .id(rs.getObject("id", UUID.class))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .category(rs.getString("category"))
+            .pricePerDay(rs.getBigDecimal("price_per_day"))
+            .maxDurationDays(rs.getInt("max_duration_days"))
+            .isAvailable(rs.getBoolean("is_available"))
+            .location(rs.getString("location"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Item> findAvailablePage(AvailableItemQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_AVAILABLE);
+        List<Object> args = new ArrayList<>();
+
+        if (query.category() != null) {
+            sql.append(" AND i.category = ?");
+            args.add(query.category());
+        }
+        if (query.location() != null) {
+            sql.append(" AND i.location = ?");
+            args.add(query.location());
+        }
+        if (query.maxPrice() != null) {
+            sql.append(" AND i.price_per_day <= ?");
+            args.add(query.maxPrice());
+        }
+        if (query.afterId() != null) {
+            sql.append(" AND i.id > ?");
+            args.add(query.afterId());
+        }
+        sql.append(NO_OVERLAPPING_BOOKING);
+        args.add(Timestamp.valueOf(query.start()));
+        args.add(Timestamp.valueOf(query.end()));
+        sql.append(" ORDER BY i.id LIMIT ?");
+        args.add(query.limit());
+
+        return jdbcTemplate.query(sql.toString(), ITEM_MAPPER, args.toArray());
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookingapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A {@code PENDING} booking placed as a hold, with what is needed to release it: the full key
+ * of its {@code bookings} row and the time its hold runs out.
+ */
+public record PendingHold(UUID id, LocalDateTime startDate, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,15 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.User;
+
+import java.util.Collection;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts or updates the given users with one batched statement, bypassing the
+     * persistence context. Rows whose values are unchanged are left untouched, so replaying
+     * the same users is a no-op. Callers must not pass two users with the same id.
+     */
+    void upsertAll(Collection<User> users);
+}
@@ -0,0 +1,41 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET email = EXCLUDED.email, first_name = EXCLUDED.first_name, " +
+            "last_name = EXCLUDED.last_name, updated_at = EXCLUDED.updated_at " +
+            // Replayed events carry the same values; skipping them avoids rewriting the row
+            "WHERE (users.email, users.first_name, users.last_name) IS DISTINCT FROM " +
+            "(EXCLUDED.email, EXCLUDED.first_name, EXCLUDED.last_name)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setObject(1, user.getId());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, Objects.requireNonNullElse(user.getFirstName(), ""));
+            ps.setString(4, Objects.requireNonNullElse(user.getLastName(), ""));
+            ps.setTimestamp(5, user.getCreatedAt() != null ? Timestamp.valueOf(user.getCreatedAt()) : now);
+            ps.setTimestamp(6, now);
+        });
+    }
+}
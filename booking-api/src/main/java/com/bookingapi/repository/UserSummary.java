@@ -0,0 +1,29 @@
+package com.bookingapi.repository;
+
+import com.bookingapi.entity.User;
+
+import java.util.UUID;
+
+/**
+ * Compact read model of a user: only the columns booking needs, without timestamps or
+ * a managed entity behind it.
+ */
+public record UserSummary(UUID id, String email, String firstName, String lastName) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+
+    /**
+     * Returns a detached {@link User} carrying this summary's values, usable as the target of a
+     * {@code @ManyToOne} association without loading the row.
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .build();
+    }
+}
@@ -0,0 +1,296 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingSlot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of active booking intervals per item.
+ *
+ * <p>A hit rejects the booking without a database query. The index sees bookings written or
+ * cancelled through this instance right after commit; changes made by other instances (and
+ * completions or releases it did not apply) appear at the next periodic reload, so a stale hit
+ * can reject free dates for at most {@code booking.availability-index.reload-interval-ms}. A miss
+ * is never trusted: the booking still goes through the conflict query or, with the exclusion
+ * constraint on, the insert into {@code booking_claims}. Changes arriving while a reload runs
+ * are journaled and replayed onto the reloaded index.</p>
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final boolean verifying;
+
+    private volatile Map<UUID, ItemSchedule> schedules = new ConcurrentHashMap<>();
+    private volatile Map<UUID, UUID> itemsByBooking = new ConcurrentHashMap<>();
+    private final AtomicLong mismatches = new AtomicLong();
+    private volatile boolean loaded;
+
+    /**
+     * Held shared by every change while it applies and journals itself, and exclusively while a
+     * reload starts its journal or swaps its maps in.
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private List<Runnable> journal;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${booking.availability-index.enabled:true}") boolean enabled,
+                                    @Value("${booking.availability-index.verify:false}") boolean verifying) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.verifying = verifying;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Booking availability index is disabled");
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * Reloads every active booking from the database and swaps the result in, dropping bookings
+     * other instances have cancelled, released or completed and picking up the ones they wrote.
+     */
+    @Scheduled(fixedDelayString = "${booking.availability-index.reload-interval-ms:60000}",
+               initialDelayString = "${booking.availability-index.reload-interval-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            reloadLocked();
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                // Left over when the reload failed; the current index keeps being updated
+                journal = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadLocked() {
+        // Started before the read, so every change the read may have missed is replayed
+        swapLock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<BookingSlot> slots = bookingRepository.findActiveBookingSlots(LocalDateTime.now());
+        Map<UUID, ItemSchedule> loadedSchedules = new ConcurrentHashMap<>();
+        Map<UUID, UUID> loadedItems = new ConcurrentHashMap<>();
+        for (BookingSlot slot : slots) {
+            add(loadedSchedules, loadedItems, slot.getId(), slot.getItemId(), slot.getStartDate(), slot.getEndDate());
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            schedules = loadedSchedules;
+            itemsByBooking = loadedItems;
+            journal.forEach(Runnable::run);
+            journal = null;
+            loaded = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Loaded {} active bookings for {} items into the availability index",
+                slots.size(), loadedSchedules.size());
+    }
+
+    /**
+     * Returns {@code true} when a known active booking overlaps the given range, using the
+     * same inclusive bounds as {@link BookingRepository#isItemBookedInDateRange}.
+     */
+    public boolean hasConflict(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!enabled || !loaded) {
+            return false;
+        }
+        ItemSchedule schedule = schedules.get(itemId);
+        return schedule != null && schedule.overlaps(startDate, endDate);
+    }
+
+    public boolean isVerifying() {
+        return enabled && verifying;
+    }
+
+    /**
+     * Compares an index answer with the database answer when verification mode is on.
+     */
+    public void recordVerification(UUID itemId, LocalDateTime startDate, LocalDateTime endDate,
+                                   boolean indexedConflict, boolean databaseConflict) {
+        if (!isVerifying() || !loaded || indexedConflict == databaseConflict) {
+            return;
+        }
+        mismatches.incrementAndGet();
+        log.warn("Availability index mismatch for item {} from {} to {}: index={}, database={}",
+                itemId, startDate, endDate, indexedConflict, databaseConflict);
+    }
+
+    public long getMismatchCount() {
+        return mismatches.get();
+    }
+
+    public void addAfterCommit(UUID bookingId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        afterCommit(() -> add(bookingId, itemId, startDate, endDate));
+    }
+
+    public void removeAfterCommit(UUID bookingId) {
+        afterCommit(() -> remove(bookingId));
+    }
+
+    void add(UUID bookingId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!enabled) {
+            return;
+        }
+        change(() -> add(schedules, itemsByBooking, bookingId, itemId, startDate, endDate));
+    }
+
+    void remove(UUID bookingId) {
+        change(() -> remove(schedules, itemsByBooking, bookingId));
+    }
+
+    /**
+     * Applies a change to the current maps and, while a reload runs, journals it for the maps
+     * being loaded. Journaled changes read the fields again, so they land on the swapped-in maps.
+     */
+    private void change(Runnable change) {
+        swapLock.readLock().lock();
+        try {
+            change.run();
+            if (journal != null) {
+                synchronized (journal) {
+                    journal.add(change);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<UUID, ItemSchedule> schedules, Map<UUID, UUID> itemsByBooking,
+                            UUID bookingId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        itemsByBooking.put(bookingId, itemId);
+        schedules.computeIfAbsent(itemId, id -> new ItemSchedule()).add(bookingId, startDate, endDate);
+    }
+
+    private static void remove(Map<UUID, ItemSchedule> schedules, Map<UUID, UUID> itemsByBooking, UUID bookingId) {
+        UUID itemId = itemsByBooking.remove(bookingId);
+        if (itemId == null) {
+            return;
+        }
+        ItemSchedule schedule = schedules.get(itemId);
+        if (schedule != null) {
+            schedule.remove(bookingId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Intervals of one item keyed by start date. The longest interval ever stored bounds how
+     * far back a lookup has to scan, so a query touches only the intervals near its range.
+     */
+    private static final class ItemSchedule {
+
+        private final NavigableMap<LocalDateTime, Map<UUID, LocalDateTime>> byStart = new TreeMap<>();
+        private final Map<UUID, LocalDateTime> startsByBooking = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private Duration longest = Duration.ZERO;
+
+        boolean overlaps(LocalDateTime startDate, LocalDateTime endDate) {
+            lock.readLock().lock();
+            try {
+                for (Map<UUID, LocalDateTime> ends : byStart.subMap(startDate.minus(longest), true, endDate, true).values()) {
+                    for (LocalDateTime end : ends.values()) {
+                        if (!end.isBefore(startDate)) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(UUID bookingId, LocalDateTime startDate, LocalDateTime endDate) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(bookingId);
+                byStart.computeIfAbsent(startDate, start -> new HashMap<>(2)).put(bookingId, endDate);
+                startsByBooking.put(bookingId, startDate);
+                Duration length = Duration.between(startDate, endDate);
+                if (length.compareTo(longest) > 0) {
+                    longest = length;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID bookingId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(bookingId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(UUID bookingId) {
+            LocalDateTime startDate = startsByBooking.remove(bookingId);
+            if (startDate == null) {
+                return;
+            }
+            Map<UUID, LocalDateTime> ends = byStart.get(startDate);
+            ends.remove(bookingId);
+            if (ends.isEmpty()) {
+                byStart.remove(startDate);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.PendingHold;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Short-lived holds: {@code PENDING} bookings that block their dates until confirmed, released or
+ * run out.
+ *
+ * <p>The expiry of every hold placed by this instance is kept in a {@link HierarchicalTimerWheel}
+ * advanced every {@code booking.holds.tick-ms} on a thread of its own, so long jobs on the shared
+ * scheduler do not hold up expiry. Neither scheduling a hold nor expiring one
+ * costs more with millions pending, and the database is not polled for expired holds. Holds that
+ * come due in a tick are released with one statement per {@code booking.holds.release-batch-size},
+ * which only cancels those still pending and past their expiry; confirming or releasing a hold
+ * therefore leaves its timer in the wheel to fire as a no-op.</p>
+ *
+ * <p>Pending holds are loaded into the wheel at startup. Holds whose instance stopped before they
+ * ran out are in no running wheel; an infrequent sweep releases pending holds that are more than
+ * {@code booking.holds.sweep-grace} overdue.</p>
+ */
+@Slf4j
+@Service
+public class BookingHoldService {
+
+    private static final long RETRY_DELAY_MS = 5_000;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final int releaseBatchSize;
+    private final Duration sweepGrace;
+
+    private final long tickMillis;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final HierarchicalTimerWheel<PendingHold> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("booking-hold-wheel").daemon(true).factory());
+
+    private final Counter placedCounter;
+    private final Counter confirmedCounter;
+    private final Counter expiredCounter;
+    private final Counter failureCounter;
+
+    public BookingHoldService(BookingService bookingService,
+                              BookingRepository bookingRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${booking.holds.ttl:10m}") Duration defaultTtl,
+                              @Value("${booking.holds.max-ttl:30m}") Duration maxTtl,
+                              @Value("${booking.holds.tick-ms:100}") long tickMillis,
+                              @Value("${booking.holds.release-batch-size:500}") int releaseBatchSize,
+                              @Value("${booking.holds.sweep-grace:1m}") Duration sweepGrace) {
+        if (defaultTtl.isNegative() || defaultTtl.isZero() || defaultTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("booking.holds.ttl must be positive and at most booking.holds.max-ttl");
+        }
+        if (releaseBatchSize <= 0) {
+            throw new IllegalArgumentException("booking.holds.release-batch-size must be positive");
+        }
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.releaseBatchSize = releaseBatchSize;
+        this.sweepGrace = sweepGrace;
+        this.tickMillis = tickMillis;
+        this.wheel = new HierarchicalTimerWheel<>(tickMillis, System.currentTimeMillis());
+
+        this.placedCounter = Counter.builder("booking.holds.placed")
+                .description("Holds placed")
+                .register(meterRegistry);
+        this.confirmedCounter = Counter.builder("booking.holds.confirmed")
+                .description("Holds confirmed as bookings")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("booking.holds.expired")
+                .description("Holds released because they ran out")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("booking.holds.failures")
+                .description("Batches of expired holds that could not be released")
+                .register(meterRegistry);
+        Gauge.builder("booking.holds.scheduled", this, BookingHoldService::scheduled)
+                .description("Hold expiries waiting in the timer wheel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Places a hold for {@code ttl}, or {@code booking.holds.ttl} when null. Fails with
+     * {@link IllegalArgumentException} for a TTL above {@code booking.holds.max-ttl} and for
+     * the same reasons a booking is rejected.
+     */
+    public Booking placeHold(UUID userId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate,
+                             String notes, Duration ttl) {
+        Duration holdTtl = ttl == null ? defaultTtl : ttl;
+        if (holdTtl.isNegative() || holdTtl.isZero() || holdTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Hold TTL must be positive and at most " + maxTtl.toSeconds() + " seconds");
+        }
+
+        // Truncated to the precision of the column, so the wheel and the row agree
+        LocalDateTime expiresAt = LocalDateTime.now().plus(holdTtl).truncatedTo(ChronoUnit.MICROS);
+        Booking hold = bookingService.createHold(userId, itemId, startDate, endDate, notes, expiresAt);
+        schedule(new PendingHold(hold.getId(), hold.getStartDate(), expiresAt));
+        placedCounter.increment();
+        return hold;
+    }
+
+    public Booking confirmHold(UUID bookingId, LocalDateTime startDate) {
+        Booking booking = bookingService.confirmHold(bookingId, startDate);
+        confirmedCounter.increment();
+        return booking;
+    }
+
+    public Booking releaseHold(UUID bookingId) {
+        return bookingService.releaseHold(bookingId);
+    }
+
+    /**
+     * Starts advancing the wheel every {@code booking.holds.tick-ms}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::expire, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    void expire() {
+        try {
+            expire(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // An escaping exception would cancel every later tick
+            failureCounter.increment();
+            log.warn("Advancing the hold timer wheel failed: {}", e.getMessage());
+        }
+    }
+
+    void expire(long nowMillis) {
+        List<PendingHold> due;
+        wheelLock.lock();
+        try {
+            due = wheel.advance(nowMillis);
+        } finally {
+            wheelLock.unlock();
+        }
+        release(due, nowMillis);
+    }
+
+    /**
+     * Releases pending holds that no running instance released on time, such as those placed by
+     * an instance that has since stopped.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.sweep-interval-ms:300000}")
+    public void sweep() {
+        try {
+            List<PendingHold> overdue = bookingRepository.findPendingHolds(LocalDateTime.now().minus(sweepGrace));
+            if (!overdue.isEmpty()) {
+                log.info("Releasing {} overdue holds", overdue.size());
+                release(overdue, System.currentTimeMillis());
+            }
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Sweep of overdue holds failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Schedules every pending hold placed before a (re)start, including those of other instances;
+     * releasing a hold twice is harmless. TTLs are capped at {@code booking.holds.max-ttl}, so no
+     * hold placed by the running configuration is missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<PendingHold> holds = bookingRepository.findPendingHolds(LocalDateTime.now().plus(maxTtl));
+        for (PendingHold hold : holds) {
+            schedule(hold);
+        }
+        log.info("Scheduled expiry of {} pending holds", holds.size());
+    }
+
+    int scheduled() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void schedule(PendingHold hold) {
+        schedule(hold, toEpochMillis(hold.expiresAt()));
+    }
+
+    private void schedule(PendingHold hold, long deadlineMillis) {
+        wheelLock.lock();
+        try {
+            wheel.schedule(hold, deadlineMillis);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void release(List<PendingHold> holds, long nowMillis) {
+        for (int from = 0; from < holds.size(); from += releaseBatchSize) {
+            List<PendingHold> batch = holds.subList(from, Math.min(from + releaseBatchSize, holds.size()));
+            try {
+                expiredCounter.increment(bookingService.releaseExpiredHolds(batch));
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("Releasing {} expired holds failed, retrying in {} ms: {}",
+                        batch.size(), RETRY_DELAY_MS, e.getMessage());
+                for (PendingHold hold : batch) {
+                    schedule(hold, nowMillis + RETRY_DELAY_MS);
+                }
+            }
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,148 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.event.BookingStatusChangedEvent;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingTransition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Moves bookings through their lifecycle once their dates pass: {@code CONFIRMED} and
+ * {@code PAID} bookings become {@code ACTIVE} when they start, and {@code ACTIVE} ones
+ * {@code COMPLETED} when they end. A booking that already ended by the time it is activated is
+ * completed directly.
+ *
+ * <p>Each run moves due bookings in chunks of {@code booking.lifecycle.chunk-size} with one
+ * {@code UPDATE ... RETURNING} per chunk, each in its own transaction, until a chunk comes back
+ * short. Chunks lock their rows with {@code FOR UPDATE SKIP LOCKED}, so several instances running
+ * at once take disjoint chunks instead of queueing behind each other. Every chunk queues one
+ * {@link BookingStatusChangedEvent} listing its bookings in the same transaction, and completed
+ * bookings leave the in-memory indexes after commit, the occupancy index with at most one query
+ * per chunk.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "booking.lifecycle.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingLifecycleEngine {
+
+    private final BookingRepository bookingRepository;
+    private final OutboxService outboxService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemOccupancyIndex occupancyIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final Counter activatedCounter;
+    private final Counter completedCounter;
+    private final Counter failureCounter;
+
+    public BookingLifecycleEngine(BookingRepository bookingRepository,
+                                  OutboxService outboxService,
+                                  BookingAvailabilityIndex availabilityIndex,
+                                  ItemOccupancyIndex occupancyIndex,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${booking.lifecycle.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("booking.lifecycle.chunk-size must be positive");
+        }
+        this.bookingRepository = bookingRepository;
+        this.outboxService = outboxService;
+        this.availabilityIndex = availabilityIndex;
+        this.occupancyIndex = occupancyIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+
+        this.activatedCounter = Counter.builder("booking.lifecycle.transitions")
+                .description("Bookings moved to another status by the lifecycle engine")
+                .tag("status", Booking.BookingStatus.ACTIVE.name())
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("booking.lifecycle.transitions")
+                .description("Bookings moved to another status by the lifecycle engine")
+                .tag("status", Booking.BookingStatus.COMPLETED.name())
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("booking.lifecycle.failures")
+                .description("Lifecycle runs stopped by a failed chunk")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.lifecycle.interval-ms:60000}")
+    public void advance() {
+        advance(LocalDateTime.now());
+    }
+
+    /**
+     * @return the number of bookings moved
+     */
+    int advance(LocalDateTime now) {
+        try {
+            int moved = drain(now, bookingRepository::completeDueBookings)
+                    + drain(now, bookingRepository::activateDueBookings);
+            if (moved > 0) {
+                log.info("Lifecycle run moved {} bookings", moved);
+            }
+            return moved;
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Booking lifecycle run failed, remaining bookings move on the next run: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private int drain(LocalDateTime now, BiFunction<LocalDateTime, Integer, List<BookingTransition>> transition) {
+        int moved = 0;
+        List<BookingTransition> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> apply(transition.apply(now, chunkSize)));
+            if (chunk == null) {
+                break;
+            }
+            for (BookingTransition committed : chunk) {
+                if (committed.status() == Booking.BookingStatus.COMPLETED) {
+                    completedCounter.increment();
+                } else {
+                    activatedCounter.increment();
+                }
+            }
+            moved += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return moved;
+    }
+
+    private List<BookingTransition> apply(List<BookingTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return transitions;
+        }
+        List<BookingStatusChangedEvent.Change> changes = transitions.stream()
+                .map(transition -> new BookingStatusChangedEvent.Change(transition.id(), transition.userId(),
+                        transition.itemId(), transition.previousStatus().name(), transition.status().name()))
+                .toList();
+        outboxService.enqueueBookingStatusChanged(new BookingStatusChangedEvent(changes, LocalDateTime.now()));
+
+        // Completed bookings no longer block their item
+        List<ItemOccupancyIndex.BookedRange> completed = new ArrayList<>();
+        for (BookingTransition transition : transitions) {
+            if (transition.status() == Booking.BookingStatus.COMPLETED) {
+                availabilityIndex.removeAfterCommit(transition.id());
+                completed.add(new ItemOccupancyIndex.BookedRange(
+                        transition.itemId(), transition.startDate(), transition.endDate()));
+            }
+        }
+        if (!completed.isEmpty()) {
+            occupancyIndex.removeAllAfterCommit(completed);
+        }
+        return transitions;
+    }
+}
@@ -0,0 +1,164 @@
+package com.bookingapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link BookingService#createBooking} and {@link BookingService#createHold}, overall
+ * and per stage, tagged by outcome.
+ *
+ * <p>{@code booking.create} times the whole createBooking call; {@code booking.create.stage} times
+ * each stage with a {@code stage} tag. Holds are timed the same way under {@code booking.hold} and
+ * {@code booking.hold.stage}, so checkout holds stay out of the booking SLO series. All carry an
+ * {@code outcome} tag, so the {@code _count} series doubles as the per-outcome counter. A failing
+ * stage is recorded with the failure outcome and the stages after it are not recorded. Timers are
+ * registered up front so every series exists from the first scrape.</p>
+ */
+@Component
+public class BookingMetrics {
+
+    public enum Stage {
+        VALIDATE,
+        USER_LOOKUP,
+        ITEM_LOOKUP,
+        CONFLICT_CHECK,
+        SAVE,
+        PUBLISH
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        INVALID,
+        NOT_FOUND,
+        UNAVAILABLE,
+        CONFLICT,
+        ERROR
+    }
+
+    private final Timers create;
+    private final Timers hold;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        create = new Timers(meterRegistry, "booking.create", "createBooking");
+        hold = new Timers(meterRegistry, "booking.hold", "createHold");
+    }
+
+    /**
+     * Starts timing one createBooking call, beginning with {@link Stage#VALIDATE}.
+     */
+    public CreateTimer startCreate() {
+        return new CreateTimer(create);
+    }
+
+    /**
+     * Starts timing one createHold call, beginning with {@link Stage#VALIDATE}.
+     */
+    public CreateTimer startHold() {
+        return new CreateTimer(hold);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Overall and per-stage timers of one operation.
+     */
+    private static final class Timers {
+
+        private final Map<Outcome, Timer> calls = new EnumMap<>(Outcome.class);
+        private final Map<Stage, Map<Outcome, Timer>> stages = new EnumMap<>(Stage.class);
+
+        Timers(MeterRegistry meterRegistry, String name, String method) {
+            for (Outcome outcome : Outcome.values()) {
+                calls.put(outcome, Timer.builder(name)
+                        .description("Time spent in " + method + ", by outcome")
+                        .tag("outcome", tagValue(outcome))
+                        .register(meterRegistry));
+            }
+            for (Stage stage : Stage.values()) {
+                Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+                for (Outcome outcome : Outcome.values()) {
+                    timers.put(outcome, Timer.builder(name + ".stage")
+                            .description("Time spent in one stage of " + method + ", by outcome")
+                            .tag("stage", tagValue(stage))
+                            .tag("outcome", tagValue(outcome))
+                            .register(meterRegistry));
+                }
+                stages.put(stage, timers);
+            }
+        }
+
+        void record(Stage stage, Outcome outcome, long nanos) {
+            stages.get(stage).get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void record(Outcome outcome, long nanos) {
+            calls.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stage clock for a single call. Not thread-safe; each call owns its own instance.
+     */
+    public static final class CreateTimer {
+
+        private final Timers timers;
+        private final long started;
+        private Stage stage = Stage.VALIDATE;
+        private long stageStarted;
+        private boolean finished;
+
+        private CreateTimer(Timers timers) {
+            this.timers = timers;
+            this.started = System.nanoTime();
+            this.stageStarted = started;
+        }
+
+        /**
+         * Records the current stage as successful and starts the next one.
+         */
+        public void next(Stage next) {
+            long now = System.nanoTime();
+            timers.record(stage, Outcome.SUCCESS, now - stageStarted);
+            stage = next;
+            stageStarted = now;
+        }
+
+        /**
+         * Records the current stage and the call as failed with {@code outcome} and returns the
+         * exception to throw.
+         */
+        public IllegalArgumentException reject(Outcome outcome, String message) {
+            finish(outcome);
+            return new IllegalArgumentException(message);
+        }
+
+        /**
+         * Records an unexpected failure, unless the call was already rejected.
+         */
+        public void fail() {
+            finish(Outcome.ERROR);
+        }
+
+        public void succeed() {
+            finish(Outcome.SUCCESS);
+        }
+
+        private void finish(Outcome outcome) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            long now = System.nanoTime();
+            timers.record(stage, outcome, now - stageStarted);
+            timers.record(outcome, now - started);
+        }
+    }
+}
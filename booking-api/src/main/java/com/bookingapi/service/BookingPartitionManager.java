@@ -0,0 +1,132 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code bookings} ahead of the calendar and archives old ones.
+ *
+ * <p>Each run creates the partitions for the current month and the next
+ * {@code booking.partitions.months-ahead} months, so bookings land in a partition of their own
+ * month rather than in {@code bookings_default}; bookings that already went there are moved when
+ * their month is created. Partitions of months more than {@code booking.partitions.retention-months}
+ * before the current one are detached and moved to {@code booking.partitions.archive-schema}, or
+ * dropped when no schema is set. Every change runs in its own transaction under an advisory lock,
+ * so with several instances only one maintains the partitions at a time.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "booking.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingPartitionManager {
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    private final Counter createdCounter;
+    private final Counter archivedCounter;
+    private final Counter movedCounter;
+    private final Counter failureCounter;
+
+    public BookingPartitionManager(BookingRepository bookingRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${booking.partitions.months-ahead:12}") int monthsAhead,
+                                   @Value("${booking.partitions.retention-months:24}") int retentionMonths,
+                                   @Value("${booking.partitions.archive-schema:bookings_archive}") String archiveSchema) {
+        if (monthsAhead < 0 || retentionMonths < 0) {
+            throw new IllegalArgumentException("booking.partitions.months-ahead and retention-months must not be negative");
+        }
+        if (!archiveSchema.isEmpty() && !SCHEMA_NAME.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Invalid booking.partitions.archive-schema: " + archiveSchema);
+        }
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema.isEmpty() ? null : archiveSchema;
+
+        this.createdCounter = Counter.builder("booking.partitions.created")
+                .description("Monthly bookings partitions created")
+                .register(meterRegistry);
+        this.archivedCounter = Counter.builder("booking.partitions.archived")
+                .description("Monthly bookings partitions detached past the retention period")
+                .register(meterRegistry);
+        this.movedCounter = Counter.builder("booking.partitions.moved")
+                .description("Bookings moved out of the default partition into a new monthly partition")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("booking.partitions.failures")
+                .description("Partition maintenance runs that failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.partitions.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    void maintain(YearMonth current) {
+        try {
+            List<YearMonth> existing = bookingRepository.findMonthlyPartitions();
+
+            for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+                if (!existing.contains(month) && !create(month)) {
+                    return;
+                }
+            }
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = current.minusMonths(retentionMonths);
+                for (YearMonth month : existing) {
+                    if (month.isBefore(oldestKept) && !archive(month)) {
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Booking partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean create(YearMonth month) {
+        Integer moved = transactionTemplate.execute(status -> bookingRepository.tryLockPartitionMaintenance()
+                ? bookingRepository.createMonthlyPartition(month)
+                : null);
+        if (moved == null) {
+            log.debug("Another instance is maintaining booking partitions");
+            return false;
+        }
+        createdCounter.increment();
+        movedCounter.increment(moved);
+        log.info("Created bookings partition for {}, moved {} bookings from the default partition", month, moved);
+        return true;
+    }
+
+    private boolean archive(YearMonth month) {
+        Long rows = transactionTemplate.execute(status -> bookingRepository.tryLockPartitionMaintenance()
+                ? bookingRepository.archiveMonthlyPartition(month, archiveSchema)
+                : null);
+        if (rows == null) {
+            log.debug("Another instance is maintaining booking partitions");
+            return false;
+        }
+        archivedCounter.increment();
+        log.info("{} bookings partition for {} with {} bookings", archiveSchema == null ? "Dropped" : "Archived", month, rows);
+        return true;
+    }
+}
@@ -1,20 +1,40 @@
 package com.bookingapi.service;
 
+import com.bookingapi.dto.BatchBookingResult;
+import com.bookingapi.dto.BookingCursor;
+import com.bookingapi.dto.BookingPage;
+import com.bookingapi.dto.BookingRequest;
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
 import com.bookingapi.entity.Item;
 import com.bookingapi.entity.User;
 import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.repository.BookingListQuery;
 import com.bookingapi.repository.BookingRepository;
-import com.bookingapi.repository.ItemRepository;
-import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.BookingSlot;
+import com.bookingapi.repository.PendingHold;
+import com.bookingapi.repository.UserSummary;
+import com.bookingapi.service.BookingMetrics.Outcome;
+import com.bookingapi.service.BookingMetrics.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -22,10 +42,26 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookingService {
 
-    private final EventProducerService eventProducerService;
+    private final OutboxService outboxService;
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    private final UserDirectory userDirectory;
+    private final ItemCatalog itemCatalog;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemOccupancyIndex occupancyIndex;
+    private final BookingMetrics bookingMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int BATCH_ATTEMPTS = 3;
+
+    /**
+     * When the {@code bookings_no_overlap} exclusion constraint exists (on {@code booking_claims},
+     * which a trigger fills from the insert), the insert itself rejects overlaps the availability
+     * index missed, and the conflict query only runs while the index is being verified. Without
+     * it, every booking the index does not reject is checked with the conflict query.
+     */
+    @Value("${booking.conflict-check.exclusion-constraint:false}")
+    private boolean exclusionConstraint;
 
     @Transactional
     public Booking createBooking(UUID userId, UUID itemId, LocalDateTime startDate,
@@ -33,73 +69,408 @@ public class BookingService {
         log.info("Creating booking for user {}: item {} from {} to {}",
                 userId, itemId, startDate, endDate);
 
+        BookingMetrics.CreateTimer timer = bookingMetrics.startCreate();
         try {
-            // Validate input dates
-            if (startDate.isAfter(endDate) || startDate.isBefore(LocalDateTime.now())) {
-                throw new IllegalArgumentException("Invalid booking dates");
+            Booking savedBooking = place(userId, itemId, startDate, endDate, notes,
+                    Booking.BookingStatus.CONFIRMED, null, timer);
+
+            // Queue the event in the same transaction; OutboxRelay publishes it after commit
+            timer.next(Stage.PUBLISH);
+            outboxService.enqueueBookingCreated(toCreatedEvent(savedBooking, userId, savedBooking.getItem()));
+            timer.succeed();
+
+            log.info("Booking created successfully with ID: {}", savedBooking.getId());
+            return savedBooking;
+
+        } catch (Exception e) {
+            timer.fail();
+            log.error("Error creating booking: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create booking", e);
+        }
+    }
+
+    /**
+     * Places a {@code PENDING} booking that blocks the dates like any other booking until
+     * {@code expiresAt}. Nothing is published until the hold is confirmed; a hold that is never
+     * confirmed is released by {@link BookingHoldService}.
+     */
+    @Transactional
+    public Booking createHold(UUID userId, UUID itemId, LocalDateTime startDate,
+                              LocalDateTime endDate, String notes, LocalDateTime expiresAt) {
+        log.info("Placing hold for user {}: item {} from {} to {} until {}",
+                userId, itemId, startDate, endDate, expiresAt);
+
+        BookingMetrics.CreateTimer timer = bookingMetrics.startHold();
+        try {
+            Booking hold = place(userId, itemId, startDate, endDate, notes,
+                    Booking.BookingStatus.PENDING, expiresAt, timer);
+            timer.succeed();
+            return hold;
+        } catch (RuntimeException e) {
+            timer.fail();
+            throw e;
+        }
+    }
+
+    /**
+     * Turns a hold into a {@code CONFIRMED} booking and queues its created event. Fails with
+     * {@link IllegalStateException} when the hold has run out or the booking is not a hold.
+     * {@code startDate}, when the caller knows it, lets the update touch a single partition.
+     */
+    @Transactional
+    public Booking confirmHold(UUID bookingId, LocalDateTime startDate) {
+        if (!bookingRepository.confirmHold(bookingId, startDate, LocalDateTime.now())) {
+            Booking booking = bookingRepository.findById(bookingId)
+                .filter(found -> startDate == null || startDate.equals(found.getStartDate()))
+                .orElseThrow(() -> new IllegalArgumentException("Hold not found"));
+            if (booking.getStatus() == Booking.BookingStatus.PENDING && booking.getHoldExpiresAt() != null) {
+                throw new IllegalStateException("Hold has expired");
             }
+            throw new IllegalStateException("Booking is not a hold in status " + booking.getStatus());
+        }
+
+        Booking booking = bookingRepository.findById(bookingId)
+            .orElseThrow(() -> new IllegalArgumentException("Hold not found"));
+        outboxService.enqueueBookingCreated(toCreatedEvent(booking, booking.getUser().getId(), booking.getItem()));
 
-            // Fetch user and item
-            User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        log.info("Hold confirmed as booking {}", bookingId);
+        return booking;
+    }
 
-            Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item not found"));
+    /**
+     * Releases a hold before it runs out.
+     */
+    @Transactional
+    public Booking releaseHold(UUID bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+            .orElseThrow(() -> new IllegalArgumentException("Hold not found"));
+        if (booking.getStatus() != Booking.BookingStatus.PENDING || booking.getHoldExpiresAt() == null) {
+            throw new IllegalStateException("Booking is not a hold in status " + booking.getStatus());
+        }
+        return cancel(booking);
+    }
 
-            // Check if item is available
-            if (!item.getIsAvailable()) {
-                throw new IllegalArgumentException("Item is not available");
+    /**
+     * Cancels those of {@code holds} that are still pending and have run out, with one statement.
+     *
+     * @return the number of holds released
+     */
+    @Transactional
+    public int releaseExpiredHolds(List<PendingHold> holds) {
+        List<BookingSlot> released = bookingRepository.releaseExpiredHolds(holds, LocalDateTime.now());
+        List<ItemOccupancyIndex.BookedRange> ranges = new ArrayList<>(released.size());
+        for (BookingSlot slot : released) {
+            availabilityIndex.removeAfterCommit(slot.getId());
+            ranges.add(new ItemOccupancyIndex.BookedRange(slot.getItemId(), slot.getStartDate(), slot.getEndDate()));
+        }
+        if (!ranges.isEmpty()) {
+            occupancyIndex.removeAllAfterCommit(ranges);
+        }
+        return released.size();
+    }
+
+    /**
+     * Creates many bookings in one transaction. Users missing from the {@link UserDirectory} and
+     * items are loaded with one query each, conflicts for the whole batch are checked with one
+     * set-based query, and accepted bookings are inserted through JDBC batching. Each entry gets
+     * its own result; an entry conflicting with an earlier entry of the same batch is rejected
+     * like any other conflict.
+     *
+     * <p>Batches run on the calling thread rather than the per-item write lanes, so a booking
+     * committed elsewhere after the conflict query can make the insert violate the exclusion
+     * constraint. The batch then rolls back and is rerun up to {@value #BATCH_ATTEMPTS} times;
+     * the rerun sees that booking and rejects the entry it overlaps. Fails with
+     * {@link IllegalStateException} when every attempt raced a concurrent booking.</p>
+     */
+    public List<BatchBookingResult> createBookings(List<BookingRequest> requests) {
+        log.info("Creating batch of {} bookings", requests.size());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertBatch(requests));
+            } catch (DataIntegrityViolationException e) {
+                if (!isExclusionViolation(e)) {
+                    throw e;
+                }
+                if (attempt == BATCH_ATTEMPTS) {
+                    throw new IllegalStateException("Items of the batch kept being booked concurrently", e);
+                }
+                log.info("Batch overlapped a concurrent booking, retrying (attempt {})", attempt + 1);
             }
+        }
+    }
 
-            // Check for booking conflicts
-            boolean isBooked = bookingRepository.isItemBookedInDateRange(
-                itemId, startDate, endDate);
-            if (isBooked) {
-                throw new IllegalArgumentException("Item is already booked for these dates");
+    private List<BatchBookingResult> insertBatch(List<BookingRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> itemIds = new HashSet<>();
+        LocalDateTime earliestStart = null;
+        LocalDateTime latestEnd = null;
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            if (request == null || request.getUserId() == null || request.getItemId() == null) {
+                results[i] = BatchBookingResult.failed(i, "User and item are required");
+                continue;
+            }
+            if (request.getStartDate() == null || request.getEndDate() == null
+                    || !hasValidDates(request.getStartDate(), request.getEndDate(), now)) {
+                results[i] = BatchBookingResult.failed(i, "Invalid booking dates");
+                continue;
+            }
+            userIds.add(request.getUserId());
+            itemIds.add(request.getItemId());
+            if (earliestStart == null || request.getStartDate().isBefore(earliestStart)) {
+                earliestStart = request.getStartDate();
             }
+            if (latestEnd == null || request.getEndDate().isAfter(latestEnd)) {
+                latestEnd = request.getEndDate();
+            }
+        }
 
-            // Calculate total price
-            long days = ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1;
-            BigDecimal totalPrice = item.getPricePerDay().multiply(BigDecimal.valueOf(days));
+        if (itemIds.isEmpty()) {
+            return List.of(results);
+        }
+
+        Map<UUID, UserSummary> users = userDirectory.findAll(userIds);
+        Map<UUID, Item> items = itemCatalog.findAllById(itemIds);
+
+        // Existing bookings and bookings accepted earlier in this batch, per item
+        Map<UUID, List<LocalDateTime[]>> taken = new HashMap<>();
+        for (BookingSlot slot : bookingRepository.findConflictingBookingSlots(items.keySet(), earliestStart, latestEnd)) {
+            taken.computeIfAbsent(slot.getItemId(), id -> new ArrayList<>())
+                    .add(new LocalDateTime[]{slot.getStartDate(), slot.getEndDate()});
+        }
+
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BookingRequest request = requests.get(i);
+            UserSummary user = users.get(request.getUserId());
+            Item item = items.get(request.getItemId());
+            if (user == null) {
+                results[i] = BatchBookingResult.failed(i, "User not found");
+                continue;
+            }
+            if (item == null) {
+                results[i] = BatchBookingResult.failed(i, "Item not found");
+                continue;
+            }
+            if (!item.getIsAvailable()) {
+                results[i] = BatchBookingResult.failed(i, "Item is not available");
+                continue;
+            }
+
+            List<LocalDateTime[]> itemSlots = taken.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+            boolean conflict = itemSlots.stream().anyMatch(slot ->
+                    !slot[0].isAfter(request.getEndDate()) && !slot[1].isBefore(request.getStartDate()));
+            if (conflict) {
+                results[i] = BatchBookingResult.failed(i, "Item is already booked for these dates");
+                continue;
+            }
+            itemSlots.add(new LocalDateTime[]{request.getStartDate(), request.getEndDate()});
 
-            // Create booking entity
             Booking booking = new Booking();
-            booking.setUser(user);
+            booking.setUser(user.toUser());
             booking.setItem(item);
-            booking.setStartDate(startDate);
-            booking.setEndDate(endDate);
-            booking.setTotalPrice(totalPrice);
+            booking.setStartDate(request.getStartDate());
+            booking.setEndDate(request.getEndDate());
+            booking.setTotalPrice(calculateTotalPrice(item, request.getStartDate(), request.getEndDate()));
             booking.setStatus(Booking.BookingStatus.CONFIRMED);
-            booking.setNotes(notes);
+            booking.setNotes(Objects.requireNonNullElse(request.getNotes(), ""));
+            accepted.add(booking);
+            acceptedIndexes.add(i);
+        }
 
-            // Save booking
-            Booking savedBooking = bookingRepository.save(booking);
+        // Flush now so an overlap with a concurrent booking surfaces inside the retry loop
+        List<Booking> savedBookings = exclusionConstraint
+                ? bookingRepository.saveAllAndFlush(accepted)
+                : bookingRepository.saveAll(accepted);
+        for (int i = 0; i < savedBookings.size(); i++) {
+            Booking saved = savedBookings.get(i);
+            int index = acceptedIndexes.get(i);
+            availabilityIndex.addAfterCommit(saved.getId(), saved.getItem().getId(),
+                    saved.getStartDate(), saved.getEndDate());
+            occupancyIndex.addAfterCommit(saved.getItem().getId(), saved.getStartDate(), saved.getEndDate());
+            outboxService.enqueueBookingCreated(toCreatedEvent(saved, saved.getUser().getId(), saved.getItem()));
+            results[index] = BatchBookingResult.created(index, saved.getId());
+        }
 
-            // Create and publish event
-            BookingCreatedEvent event = new BookingCreatedEvent(
-                savedBooking.getId(),
-                userId,
-                item.getName(),
-                startDate,
-                endDate,
-                totalPrice,
-                "CONFIRMED",
-                LocalDateTime.now()
-            );
+        log.info("Batch created {} of {} bookings", savedBookings.size(), requests.size());
+        return List.of(results);
+    }
 
-            eventProducerService.publishBookingCreated(event);
+    public Booking getBooking(UUID bookingId) {
+        return bookingRepository.findById(bookingId)
+            .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+    }
 
-            log.info("Booking created successfully with ID: {}", savedBooking.getId());
-            return savedBooking;
+    @Transactional(readOnly = true)
+    public BookingResponse getBookingResponse(UUID bookingId) {
+        return bookingRepository.findResponseById(bookingId)
+            .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+    }
 
-        } catch (Exception e) {
-            log.error("Error creating booking: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create booking", e);
+    /**
+     * Lists the bookings of one user or one item in {@code (startDate, id)} order, one page at a
+     * time. Pages are addressed by the cursor of the previous page rather than an offset.
+     */
+    @Transactional(readOnly = true)
+    public BookingPage listBookings(UUID userId, UUID itemId, Booking.BookingStatus status,
+                                    LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if ((userId == null) == (itemId == null)) {
+            throw new IllegalArgumentException("Exactly one of userId and itemId is required");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Invalid date filter");
+        }
+
+        BookingCursor after = cursor == null || cursor.isEmpty() ? null : BookingCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        List<BookingResponse> rows = bookingRepository.findPage(new BookingListQuery(userId, itemId, status, from, to,
+                after == null ? null : after.startDate(), after == null ? null : after.id(), limit + 1));
+
+        if (rows.size() <= limit) {
+            return new BookingPage(rows, null);
         }
+        List<BookingResponse> page = rows.subList(0, limit);
+        return new BookingPage(List.copyOf(page), BookingCursor.after(page.get(limit - 1)).encode());
     }
 
-    public Booking getBooking(UUID bookingId) {
-        return bookingRepository.findById(bookingId)
+    @Transactional
+    public Booking cancelBooking(UUID bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
+
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED
+                || booking.getStatus() == Booking.BookingStatus.COMPLETED) {
+            throw new IllegalStateException("Booking cannot be cancelled in status " + booking.getStatus());
+        }
+        return cancel(booking);
+    }
+
+    private Booking cancel(Booking booking) {
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        Booking cancelledBooking = bookingRepository.save(booking);
+        availabilityIndex.removeAfterCommit(booking.getId());
+        occupancyIndex.removeAfterCommit(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate());
+
+        log.info("Booking cancelled successfully with ID: {}", booking.getId());
+        return cancelledBooking;
+    }
+
+    /**
+     * Validates, conflict-checks and saves one booking in {@code status}, registering it with the
+     * in-memory indexes after commit. Rejections are thrown through {@code timer}.
+     */
+    private Booking place(UUID userId, UUID itemId, LocalDateTime startDate, LocalDateTime endDate, String notes,
+                          Booking.BookingStatus status, LocalDateTime holdExpiresAt, BookingMetrics.CreateTimer timer) {
+        // Validate input dates
+        if (!hasValidDates(startDate, endDate, LocalDateTime.now())) {
+            throw timer.reject(Outcome.INVALID, "Invalid booking dates");
+        }
+
+        // Fetch user and item
+        timer.next(Stage.USER_LOOKUP);
+        User user = userDirectory.find(userId)
+            .map(UserSummary::toUser)
+            .orElseThrow(() -> timer.reject(Outcome.NOT_FOUND, "User not found"));
+
+        timer.next(Stage.ITEM_LOOKUP);
+        Item item = itemCatalog.findById(itemId)
+            .orElseThrow(() -> timer.reject(Outcome.NOT_FOUND, "Item not found"));
+
+        // Check if item is available
+        if (!item.getIsAvailable()) {
+            throw timer.reject(Outcome.UNAVAILABLE, "Item is not available");
+        }
+
+        // Reject known conflicts from the in-memory index before querying the database
+        timer.next(Stage.CONFLICT_CHECK);
+        boolean indexedConflict = availabilityIndex.hasConflict(itemId, startDate, endDate);
+        if (indexedConflict && !availabilityIndex.isVerifying()) {
+            throw timer.reject(Outcome.CONFLICT, "Item is already booked for these dates");
+        }
+
+        // Check for booking conflicts
+        if (!exclusionConstraint || availabilityIndex.isVerifying()) {
+            boolean isBooked = bookingRepository.isItemBookedInDateRange(
+                itemId, startDate, endDate);
+            availabilityIndex.recordVerification(itemId, startDate, endDate, indexedConflict, isBooked);
+            if (isBooked) {
+                throw timer.reject(Outcome.CONFLICT, "Item is already booked for these dates");
+            }
+        }
+
+        // Calculate total price
+        timer.next(Stage.SAVE);
+        BigDecimal totalPrice = calculateTotalPrice(item, startDate, endDate);
+
+        // Create booking entity
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setItem(item);
+        booking.setStartDate(startDate);
+        booking.setEndDate(endDate);
+        booking.setTotalPrice(totalPrice);
+        booking.setStatus(status);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        booking.setNotes(notes);
+
+        // Save booking
+        Booking savedBooking = saveBooking(booking, timer);
+        availabilityIndex.addAfterCommit(savedBooking.getId(), itemId, startDate, endDate);
+        occupancyIndex.addAfterCommit(itemId, startDate, endDate);
+        return savedBooking;
+    }
+
+    private Booking saveBooking(Booking booking, BookingMetrics.CreateTimer timer) {
+        if (!exclusionConstraint) {
+            return bookingRepository.save(booking);
+        }
+        try {
+            // Flush now so an overlap surfaces here instead of at commit
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw timer.reject(Outcome.CONFLICT, "Item is already booked for these dates");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isExclusionViolation(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean hasValidDates(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime now) {
+        return !startDate.isAfter(endDate) && !startDate.isBefore(now);
+    }
+
+    static BigDecimal calculateTotalPrice(Item item, LocalDateTime startDate, LocalDateTime endDate) {
+        long days = ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1;
+        return item.getPricePerDay().multiply(BigDecimal.valueOf(days));
+    }
+
+    private BookingCreatedEvent toCreatedEvent(Booking booking, UUID userId, Item item) {
+        return new BookingCreatedEvent(
+            booking.getId(),
+            userId,
+            item.getName(),
+            booking.getStartDate(),
+            booking.getEndDate(),
+            booking.getTotalPrice(),
+            booking.getStatus().name(),
+            LocalDateTime.now()
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.bookingapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serializes booking writes per item by hashing the item id onto a fixed set of
+ * single-threaded lanes.
+ *
+ * <p>All writes for one item run on the same lane, one at a time, so the
+ * check-then-insert in {@link BookingService#createBooking} cannot interleave with another
+ * write for that item in this instance. Writes for different items land on different lanes
+ * and run in parallel. When sharding is disabled tasks run on the calling thread.</p>
+ */
+@Slf4j
+@Component
+public class BookingWriteShards {
+
+    private static final ThreadLocal<Boolean> ON_LANE = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public BookingWriteShards(@Value("${booking.sharding.enabled:false}") boolean enabled,
+                              @Value("${booking.sharding.lanes:0}") int laneCount,
+                              @Value("${booking.sharding.queue-capacity:10000}") int queueCapacity,
+                              @Value("${booking.sharding.virtual-threads:false}") boolean virtualThreads) {
+        if (!enabled) {
+            this.lanes = new ThreadPoolExecutor[0];
+            return;
+        }
+
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "booking-lane-" + i;
+            ThreadFactory threadFactory = virtualThreads
+                    ? Thread.ofVirtual().name(name).factory()
+                    : Thread.ofPlatform().name(name).daemon(true).factory();
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+        }
+        log.info("Booking write sharding enabled with {} lanes ({} threads)",
+                count, virtualThreads ? "virtual" : "platform");
+    }
+
+    public boolean isEnabled() {
+        return lanes.length > 0;
+    }
+
+    /**
+     * Runs the task on the lane owning {@code itemId} and waits for its result.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException when the lane queue is full
+     */
+    public <T> T execute(UUID itemId, Supplier<T> task) {
+        if (!isEnabled() || ON_LANE.get()) {
+            return task.get();
+        }
+
+        Future<T> future = laneFor(itemId).submit(() -> {
+            ON_LANE.set(true);
+            try {
+                return task.get();
+            } finally {
+                ON_LANE.remove();
+            }
+        });
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for booking lane", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    int laneIndex(UUID itemId) {
+        int hash = itemId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private ThreadPoolExecutor laneFor(UUID itemId) {
+        return lanes[laneIndex(itemId)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+}
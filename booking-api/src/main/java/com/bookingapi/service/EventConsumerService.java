@@ -1,34 +1,112 @@
 package com.bookingapi.service;
 
+import com.bookingapi.entity.User;
 import com.bookingapi.event.UserRegisteredEvent;
-import lombok.RequiredArgsConstructor;
+import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.UserSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventConsumerService {
 
-    @KafkaListener(topics = "user_registered", groupId = "booking-service")
-    public void handleUserRegistered(UserRegisteredEvent event) {
-        log.info("Received user registered event: {}", event);
+    public static final String USER_REGISTERED_TOPIC = "user_registered";
+
+    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final Counter receivedCounter;
+    private final Counter skippedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchTimer;
+
+    public EventConsumerService(UserRepository userRepository, UserDirectory userDirectory,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
+        this.receivedCounter = Counter.builder("booking.kafka.consume.records")
+                .description("Records received by the user_registered listener")
+                .tag("topic", USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("booking.kafka.consume.skipped")
+                .description("Records skipped because they were incomplete or rejected by the database")
+                .tag("topic", USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("booking.kafka.consume.batch.size")
+                .description("Records per poll handled by the user_registered listener")
+                .tag("topic", USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("booking.kafka.consume.batch")
+                .description("Time to handle one poll of user_registered records")
+                .tag("topic", USER_REGISTERED_TOPIC)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Handles one poll of user registrations with a single batched upsert. Offsets are
+     * committed by the container once this method returns; an exception other than a
+     * constraint violation leaves the batch uncommitted so it is redelivered.
+     */
+    @KafkaListener(topics = USER_REGISTERED_TOPIC, groupId = "booking-service",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleUserRegisteredBatch(List<UserRegisteredEvent> events) {
+        log.debug("Received {} user registered events", events.size());
+        receivedCounter.increment(events.size());
+        batchSizeSummary.record(events.size());
 
-        // Process the user registration event
-        // For example: prepare booking slots, send welcome notifications, etc.
-        try {
-            // Business logic for handling user registration
-            log.info("Processing user registration for user ID: {}", event.getUserId());
+        batchTimer.record(() -> {
+            // Later events for the same user win; one statement cannot upsert a row twice
+            Map<UUID, User> users = new LinkedHashMap<>();
+            for (UserRegisteredEvent event : events) {
+                if (event == null || event.getUserId() == null || event.getEmail() == null) {
+                    log.warn("Skipping incomplete user registered event: {}", event);
+                    skippedCounter.increment();
+                    continue;
+                }
+                users.put(event.getUserId(), toUser(event));
+            }
 
-            // TODO: Implement business logic such as:
-            // - Initialize user booking preferences
-            // - Send welcome email (via notification service)
-            // - Set up default booking settings
+            try {
+                userRepository.upsertAll(users.values());
+                userDirectory.putAll(users.values().stream().map(UserSummary::from).toList());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Batch upsert of {} users rejected, retrying individually: {}", users.size(), e.getMessage());
+                upsertIndividually(users.values().stream().toList());
+            }
+        });
+    }
 
-        } catch (Exception e) {
-            log.error("Error processing user registered event: {}", e.getMessage(), e);
-            // TODO: Implement error handling strategy (retry, dead letter queue, etc.)
+    private void upsertIndividually(List<User> users) {
+        for (User user : users) {
+            try {
+                userRepository.upsertAll(List.of(user));
+                userDirectory.putAll(List.of(UserSummary.from(user)));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Skipping user {} rejected by the database: {}", user.getId(), e.getMessage());
+                skippedCounter.increment();
+            }
         }
     }
-}
\ No newline at end of file
+
+    private User toUser(UserRegisteredEvent event) {
+        return User.builder()
+                .id(event.getUserId())
+                .email(event.getEmail())
+                .firstName(Objects.requireNonNullElse(event.getFirstName(), ""))
+                .lastName(Objects.requireNonNullElse(event.getLastName(), ""))
+                .createdAt(event.getRegisteredAt())
+                .build();
+    }
+}
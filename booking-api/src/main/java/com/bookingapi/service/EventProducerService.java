@@ -1,26 +1,116 @@
 package com.bookingapi.service;
 
-import com.bookingapi.event.BookingCreatedEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events to Kafka asynchronously.
+ *
+ * <p>Sends are bounded by an in-memory buffer of {@code booking.kafka.producer.send-buffer}
+ * unacknowledged records. When the buffer is full a sender waits up to
+ * {@code booking.kafka.producer.send-buffer-timeout-ms} for a slot and is then rejected with
+ * {@link SendBufferFullException}, so a slow broker pushes back on callers instead of growing
+ * memory without limit. Every completion records per-topic latency and error counts.</p>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventProducerService {
 
+    public static final String BOOKING_CREATED_TOPIC = "booking_created";
+    public static final String BOOKING_STATUS_CHANGED_TOPIC = "booking_status_changed";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore sendBuffer;
+    private final long sendBufferTimeoutMs;
+
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> errorTimers = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
 
-    public void publishBookingCreated(BookingCreatedEvent event) {
+    public EventProducerService(KafkaTemplate<String, Object> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.kafka.producer.send-buffer:10000}") int sendBufferSize,
+                                @Value("${booking.kafka.producer.send-buffer-timeout-ms:100}") long sendBufferTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.sendBuffer = new Semaphore(sendBufferSize);
+        this.sendBufferTimeoutMs = sendBufferTimeoutMs;
+
+        this.rejectedCounter = Counter.builder("booking.kafka.send.rejected")
+                .description("Sends rejected because the in-memory send buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("booking.kafka.send.in-flight", sendBuffer, buffer -> sendBufferSize - buffer.availablePermits())
+                .description("Records sent to Kafka and not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a record without waiting for the broker. The returned future completes when
+     * Kafka acknowledges the record.
+     *
+     * @throws SendBufferFullException when no buffer slot frees up in time
+     */
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object event) {
+        acquireBufferSlot(topic);
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<SendResult<String, Object>> future;
         try {
-            kafkaTemplate.send("booking_created", event.getBookingId().toString(), event);
-            log.info("Published booking created event: {}", event);
-        } catch (Exception e) {
-            log.error("Error publishing booking created event: {}", e.getMessage(), e);
-            // TODO: Implement retry mechanism or dead letter queue
-            throw new RuntimeException("Failed to publish booking created event", e);
+            future = kafkaTemplate.send(topic, key, event);
+        } catch (RuntimeException e) {
+            sendBuffer.release();
+            record(topic, startNanos, e);
+            throw e;
+        }
+
+        return future.whenComplete((result, ex) -> {
+            sendBuffer.release();
+            record(topic, startNanos, ex);
+            if (ex != null) {
+                log.error("Kafka rejected record for topic {} with key {}: {}", topic, key, ex.getMessage());
+            }
+        });
+    }
+
+    private void acquireBufferSlot(String topic) {
+        try {
+            if (!sendBuffer.tryAcquire(sendBufferTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                throw new SendBufferFullException("Kafka send buffer is full, rejecting record for topic " + topic);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SendBufferFullException("Interrupted while waiting for Kafka send buffer");
+        }
+    }
+
+    private void record(String topic, long startNanos, Throwable error) {
+        Map<String, Timer> timers = error == null ? successTimers : errorTimers;
+        Timer timer = timers.computeIfAbsent(topic, t -> Timer.builder("booking.kafka.publish")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", t)
+                .tag("outcome", error == null ? "success" : "error")
+                .register(meterRegistry));
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static class SendBufferFullException extends RuntimeException {
+        public SendBufferFullException(String message) {
+            super(message);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.bookingapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: four levels of 256 slots, each level's slot spanning a full
+ * rotation of the level below. With a tick of {@code tickMillis} the first level covers the next
+ * 256 ticks one slot per tick, and the top level reaches 2<sup>32</sup> ticks ahead; later
+ * deadlines are clamped to that horizon.
+ *
+ * <p>Scheduling appends to one slot, and advancing by a tick touches one slot, so cost does not
+ * grow with the number of pending timers. A timer starts on the lowest level whose range covers
+ * its delay; when a level wraps, the next slot of the level above is cascaded down, so each timer
+ * moves at most once per level before it fires. Timers cannot be cancelled: owners make firing a
+ * timer that no longer matters a no-op.</p>
+ *
+ * <p>Not thread-safe; callers serialize access.</p>
+ */
+final class HierarchicalTimerWheel<T> {
+
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final List<List<Timer<T>>> slots;
+
+    /** The next tick to process; everything before it has fired. */
+    private long tick;
+    private int size;
+
+    HierarchicalTimerWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.tick = startMillis / tickMillis;
+        this.slots = new ArrayList<>(LEVELS * SLOTS);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules {@code value} to be returned by the first {@link #advance} to a time at or after
+     * {@code deadlineMillis}. A deadline already passed fires with the next tick.
+     */
+    void schedule(T value, long deadlineMillis) {
+        add(new Timer<>(value, Math.ceilDiv(deadlineMillis, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and returns the values whose deadline has
+     * passed, in deadline order at tick granularity.
+     */
+    List<T> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (tick <= target) {
+            int index = (int) (tick & MASK);
+            if (index == 0) {
+                cascade();
+            }
+            List<Timer<T>> due = slots.get(index);
+            if (!due.isEmpty()) {
+                slots.set(index, new ArrayList<>());
+                for (Timer<T> timer : due) {
+                    expired.add(timer.value);
+                }
+                size -= due.size();
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int index = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+            List<Timer<T>> timers = slots.get(level * SLOTS + index);
+            if (!timers.isEmpty()) {
+                slots.set(level * SLOTS + index, new ArrayList<>());
+                for (Timer<T> timer : timers) {
+                    add(timer);
+                }
+            }
+            if (index != 0) {
+                return;
+            }
+        }
+    }
+
+    private void add(Timer<T> timer) {
+        long delay = timer.expires - tick;
+        if (delay < 0) {
+            slots.get((int) (tick & MASK)).add(timer);
+            return;
+        }
+        if (delay > MAX_DELAY_TICKS) {
+            timer.expires = tick + MAX_DELAY_TICKS;
+            delay = MAX_DELAY_TICKS;
+        }
+        int level = 0;
+        while (delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((timer.expires >>> (SLOT_BITS * level)) & MASK);
+        slots.get(level * SLOTS + index).add(timer);
+    }
+
+    private static final class Timer<T> {
+
+        private final T value;
+        private long expires;
+
+        private Timer(T value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+}
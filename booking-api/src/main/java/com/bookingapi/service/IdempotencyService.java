@@ -0,0 +1,292 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.IdempotencyRecord;
+import com.bookingapi.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key} and replays its response to retries.
+ *
+ * <p>Completed responses are kept in the {@code idempotency_keys} table and in a bounded
+ * in-memory cache, both until {@code booking.idempotency.ttl} has passed; a scheduled job
+ * deletes expired rows. Concurrent requests with the same key on one instance wait for the
+ * first one and share its response. Across instances the first request claims the key with a
+ * pending row; the others are rejected as in progress until it completes. A pending row left by
+ * a crashed instance can be claimed again after {@code booking.idempotency.pending-timeout}.
+ * A key reused with a different request is rejected.</p>
+ *
+ * <p>Server errors are not stored, so the client can retry them with the same key.</p>
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int CLEANUP_BATCH_SIZE = 1_000;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Duration waitTimeout;
+
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<Execution>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${booking.idempotency.cache-max-size:100000}") long cacheMaxSize,
+                              @Value("${booking.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${booking.idempotency.pending-timeout:1m}") Duration pendingTimeout,
+                              @Value("${booking.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.waitTimeout = waitTimeout;
+
+        // Entries loaded from the table live only as long as their row
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.<String, StoredResponse>creating((key, response) -> remaining(response)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency-responses");
+
+        this.executedCounter = counter(meterRegistry, "executed");
+        this.replayedCounter = counter(meterRegistry, "replayed");
+        this.coalescedCounter = counter(meterRegistry, "coalesced");
+        this.rejectedCounter = counter(meterRegistry, "rejected");
+    }
+
+    /**
+     * SHA-256 over the parts of a request that must match for a key to be replayed.
+     */
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns the stored response for {@code key}, or runs {@code action} and stores its response.
+     *
+     * @throws IllegalArgumentException when the key is blank or too long
+     * @throws KeyReusedException when the key was used for a request with another fingerprint
+     * @throws IllegalStateException when another instance is still running the key's request
+     */
+    public ResponseEntity<?> execute(String key, String requestHash, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        StoredResponse cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<Execution> execution = new CompletableFuture<>();
+        CompletableFuture<Execution> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            Execution first = await(running);
+            coalescedCounter.increment();
+            checkFingerprint(first.requestHash(), requestHash);
+            return withReplayedHeader(first.response());
+        }
+
+        try {
+            ResponseEntity<?> response = executeOnce(key, requestHash, action);
+            execution.complete(new Execution(requestHash, response));
+            return response;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private ResponseEntity<?> executeOnce(String key, String requestHash, Supplier<ResponseEntity<?>> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                repository.claim(key, requestHash, now, now.plus(pendingTimeout)));
+        if (claimed == null || claimed == 0) {
+            IdempotencyRecord existing = repository.findById(key).orElse(null);
+            if (existing == null || existing.getStatusCode() == null) {
+                rejectedCounter.increment();
+                throw new IllegalStateException("A request with this Idempotency-Key is still in progress");
+            }
+            StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getStatusCode(),
+                    existing.getResponseBody(), existing.getExpiresAt());
+            completed.put(key, stored);
+            return replay(stored, requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        executedCounter.increment();
+
+        if (response.getStatusCode().is5xxServerError()) {
+            release(key);
+            return response;
+        }
+
+        StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                toJson(response.getBody()), LocalDateTime.now().plus(ttl));
+        completed.put(key, stored);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    repository.complete(key, stored.statusCode(), stored.body(), stored.expiresAt()));
+        } catch (Exception e) {
+            // The request itself succeeded; this instance still replays it from memory
+            log.warn("Could not store response for Idempotency-Key {}: {}", key, e.getMessage());
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int deleted;
+            int total = 0;
+            do {
+                Integer batch = transactionTemplate.execute(status -> repository.deleteExpired(now, CLEANUP_BATCH_SIZE));
+                deleted = batch == null ? 0 : batch;
+                total += deleted;
+            } while (deleted == CLEANUP_BATCH_SIZE);
+            if (total > 0) {
+                log.debug("Deleted {} expired idempotency keys", total);
+            }
+        } catch (Exception e) {
+            log.warn("Idempotency key cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        checkFingerprint(stored.requestHash(), requestHash);
+        replayedCounter.increment();
+        return ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.body());
+    }
+
+    private void checkFingerprint(String original, String requestHash) {
+        if (!original.equals(requestHash)) {
+            rejectedCounter.increment();
+            throw new KeyReusedException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private ResponseEntity<?> withReplayedHeader(ResponseEntity<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private Execution await(CompletableFuture<Execution> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a request with the same Idempotency-Key", e);
+        } catch (ExecutionException | TimeoutException e) {
+            rejectedCounter.increment();
+            throw new IllegalStateException("A request with this Idempotency-Key is still in progress", e);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.releasePending(key));
+        } catch (Exception e) {
+            log.warn("Could not release Idempotency-Key {}; it frees up after the pending timeout: {}", key, e.getMessage());
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response for Idempotency-Key", e);
+        }
+    }
+
+    private static Duration remaining(StoredResponse response) {
+        Duration remaining = Duration.between(LocalDateTime.now(), response.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body, LocalDateTime expiresAt) {
+    }
+
+    private record Execution(String requestHash, ResponseEntity<?> response) {
+    }
+
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+}
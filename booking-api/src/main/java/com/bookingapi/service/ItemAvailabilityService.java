@@ -0,0 +1,75 @@
+package com.bookingapi.service;
+
+import com.bookingapi.dto.ItemPage;
+import com.bookingapi.entity.Item;
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemAvailabilityService {
+
+    private final ItemRepository itemRepository;
+    private final ItemOccupancyIndex occupancyIndex;
+    private final ItemCatalog itemCatalog;
+
+    /**
+     * Finds items that can be booked for the whole of {@code [start, end]}, one page at a time in
+     * id order. The cursor is the id of the last item on the previous page. Served from the
+     * occupancy index once it is built, from the database otherwise.
+     */
+    @Transactional(readOnly = true)
+    public ItemPage findAvailable(LocalDateTime start, LocalDateTime end, String category, String location,
+                                  BigDecimal maxPrice, String cursor, int limit) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        if (maxPrice != null && maxPrice.signum() < 0) {
+            throw new IllegalArgumentException("Invalid max price");
+        }
+
+        UUID afterId = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+        // One extra row tells whether another page follows
+        AvailableItemQuery query = new AvailableItemQuery(start, end, category, location, maxPrice, afterId, limit + 1);
+        List<Item> rows = occupancyIndex.isReady() ? findIndexed(query) : itemRepository.findAvailablePage(query);
+
+        if (rows.size() <= limit) {
+            return new ItemPage(rows, null);
+        }
+        List<Item> page = List.copyOf(rows.subList(0, limit));
+        return new ItemPage(page, page.get(limit - 1).getId().toString());
+    }
+
+    /**
+     * Answers from the occupancy bitmaps and loads the matching items through the catalog,
+     * keeping the index order.
+     */
+    private List<Item> findIndexed(AvailableItemQuery query) {
+        List<UUID> itemIds = occupancyIndex.findAvailable(query);
+        Map<UUID, Item> items = itemCatalog.findAllById(itemIds);
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private UUID decodeCursor(String cursor) {
+        try {
+            return UUID.fromString(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
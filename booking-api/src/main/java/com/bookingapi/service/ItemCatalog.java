@@ -0,0 +1,150 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Item;
+import com.bookingapi.event.ItemChangedEvent;
+import com.bookingapi.repository.ItemRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-through cache in front of {@link ItemRepository} for id, category and location lookups.
+ *
+ * <p>Entries are bounded by size and expire after a TTL. Every committed item write publishes an
+ * {@link ItemChangedEvent}; it evicts the item and every cached list that contained it or that
+ * it now belongs to, and is forwarded on {@code item_changed} so other instances evict too. The
+ * TTL only bounds staleness if such an event is lost. Cached items are shared detached entities
+ * and must be treated as read-only.</p>
+ */
+@Slf4j
+@Component
+public class ItemCatalog {
+
+    public static final String ITEM_CHANGED_TOPIC = "item_changed";
+
+    private final ItemRepository itemRepository;
+    private final EventProducerService eventProducerService;
+    private final Cache<UUID, Item> itemsById;
+    private final Cache<String, List<Item>> itemsByCategory;
+    private final Cache<String, List<Item>> itemsByLocation;
+
+    public ItemCatalog(ItemRepository itemRepository,
+                       EventProducerService eventProducerService,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.item-cache.max-size:5000}") long maxSize,
+                       @Value("${booking.item-cache.max-lists:1000}") long maxLists,
+                       @Value("${booking.item-cache.ttl:10m}") Duration ttl) {
+        this.itemRepository = itemRepository;
+        this.eventProducerService = eventProducerService;
+        this.itemsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.itemsByCategory = Caffeine.newBuilder()
+                .maximumSize(maxLists)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.itemsByLocation = Caffeine.newBuilder()
+                .maximumSize(maxLists)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, itemsById, "items");
+        CaffeineCacheMetrics.monitor(meterRegistry, itemsByCategory, "items_by_category");
+        CaffeineCacheMetrics.monitor(meterRegistry, itemsByLocation, "items_by_location");
+    }
+
+    public Optional<Item> findById(UUID itemId) {
+        Item cached = itemsById.getIfPresent(itemId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Item> loaded = itemRepository.findById(itemId);
+        loaded.ifPresent(item -> itemsById.put(itemId, item));
+        return loaded;
+    }
+
+    /**
+     * Resolves many items, loading all cache misses with one query.
+     */
+    public Map<UUID, Item> findAllById(Collection<UUID> itemIds) {
+        Map<UUID, Item> found = new HashMap<>(itemsById.getAllPresent(itemIds));
+        Set<UUID> missing = new HashSet<>(itemIds);
+        missing.removeAll(found.keySet());
+
+        if (!missing.isEmpty()) {
+            for (Item item : itemRepository.findAllById(missing)) {
+                itemsById.put(item.getId(), item);
+                found.put(item.getId(), item);
+            }
+        }
+        return found;
+    }
+
+    public List<Item> findByCategory(String category) {
+        return itemsByCategory.get(category, key -> List.copyOf(itemRepository.findByCategory(key)));
+    }
+
+    public List<Item> findByLocation(String location) {
+        return itemsByLocation.get(location, key -> List.copyOf(itemRepository.findByLocation(key)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalItemChange(ItemChangedEvent event) {
+        evict(event);
+        try {
+            eventProducerService.send(ITEM_CHANGED_TOPIC, event.getItemId().toString(), event);
+        } catch (Exception e) {
+            log.warn("Could not broadcast change of item {}, other instances rely on TTL: {}",
+                    event.getItemId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Every instance consumes with its own group, starting at the latest offset, so each one
+     * sees every change made elsewhere.
+     */
+    @KafkaListener(topics = ITEM_CHANGED_TOPIC,
+                   groupId = "booking-item-cache-#{T(java.util.UUID).randomUUID()}",
+                   properties = "auto.offset.reset=latest")
+    public void onRemoteItemChange(ItemChangedEvent event) {
+        evict(event);
+    }
+
+    void evict(ItemChangedEvent event) {
+        UUID itemId = event.getItemId();
+        itemsById.invalidate(itemId);
+        evictLists(itemsByCategory, itemId, event.getCategory());
+        evictLists(itemsByLocation, itemId, event.getLocation());
+        log.debug("Evicted item {} after {}", itemId, event.getChangeType());
+    }
+
+    private void evictLists(Cache<String, List<Item>> lists, UUID itemId, String currentKey) {
+        if (currentKey != null) {
+            lists.invalidate(currentKey);
+        }
+        // The item may have moved out of a list it was cached in
+        lists.asMap().entrySet().removeIf(entry -> entry.getValue().stream()
+                .anyMatch(item -> Objects.equals(item.getId(), itemId)));
+    }
+}
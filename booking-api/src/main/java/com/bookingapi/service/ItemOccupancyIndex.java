@@ -0,0 +1,506 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Item;
+import com.bookingapi.event.ItemChangedEvent;
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingSlot;
+import com.bookingapi.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory map of booked days per item, used to answer multi-item availability searches
+ * without scanning {@code bookings}.
+ *
+ * <p>Each item holds a compressed {@link RoaringBitmap} of the epoch days touched by an active
+ * booking. A search range fully covers its interior days, so any bit set there is a definite
+ * conflict and the item is skipped. Bits on the first or last day only mean a booking may
+ * overlap the requested hours; those items are checked against the database in one query. Items
+ * are scanned in chunks, in parallel, in the same id order the SQL search uses, so cursors work
+ * with either path.</p>
+ *
+ * <p>Bitmaps are copied on write and published whole, so searches never lock. The index sees
+ * bookings written through this instance right after commit. Bookings written elsewhere appear
+ * at the next periodic rebuild; changes arriving while a rebuild runs are journaled and replayed
+ * onto the rebuilt index. A stale answer only affects search results: creating a booking always
+ * checks the database.</p>
+ */
+@Slf4j
+@Component
+public class ItemOccupancyIndex {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int REMOVE_ATTEMPTS = 3;
+
+    /** Orders ids the way Postgres orders {@code uuid} values: as unsigned bytes. */
+    static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    private volatile ConcurrentNavigableMap<UUID, ItemOccupancy> items = new ConcurrentSkipListMap<>(UUID_ORDER);
+    private volatile boolean ready;
+
+    /**
+     * Held shared by every change while it picks its target map and journals itself, and
+     * exclusively while a rebuild starts its journal or swaps its map in.
+     */
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Queue<Change> journal;
+
+    public ItemOccupancyIndex(ItemRepository itemRepository,
+                              BookingRepository bookingRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${booking.occupancy-index.enabled:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+
+        Gauge.builder("booking.occupancy.items", this, index -> index.items.size())
+                .description("Items tracked by the occupancy index")
+                .register(meterRegistry);
+        Gauge.builder("booking.occupancy.bitmap.bytes", this, ItemOccupancyIndex::getBitmapSizeInBytes)
+                .description("Serialized size of all booked-day bitmaps")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Item occupancy index is disabled");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the whole index from the database and swaps it in, picking up bookings and item
+     * changes made by other instances.
+     */
+    @Scheduled(fixedDelayString = "${booking.occupancy-index.rebuild-interval-ms:300000}",
+               initialDelayString = "${booking.occupancy-index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                // Left over when the rebuild failed; the current index keeps being updated
+                journal = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long started = System.nanoTime();
+        // Started before the reads, so every change the reads may have missed is replayed
+        swapLock.writeLock().lock();
+        try {
+            journal = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        ConcurrentNavigableMap<UUID, ItemOccupancy> built = new ConcurrentSkipListMap<>(UUID_ORDER);
+        for (Item item : itemRepository.findAll()) {
+            built.put(item.getId(), new ItemOccupancy(item.getId(), ItemFacts.of(item)));
+        }
+
+        List<BookingSlot> slots = bookingRepository.findActiveBookingSlots(LocalDate.now().atStartOfDay());
+        for (BookingSlot slot : slots) {
+            ItemOccupancy occupancy = built.computeIfAbsent(slot.getItemId(), id -> new ItemOccupancy(id, null));
+            // Not yet published, so the bitmap can be filled in place
+            occupancy.days.add(day(slot.getStartDate()), day(slot.getEndDate()) + 1);
+        }
+        built.values().forEach(occupancy -> occupancy.days.runOptimize());
+
+        // Additions are replayed before the swap; removals query the database, so they are
+        // replayed after it, through the normal path, without holding up other changes
+        List<BookedRange> removed = new ArrayList<>();
+        swapLock.writeLock().lock();
+        try {
+            for (Change change : journal) {
+                if (change.added()) {
+                    apply(built, change.range());
+                } else {
+                    removed.add(change.range());
+                }
+            }
+            journal = null;
+            items = built;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (!removed.isEmpty()) {
+            remove(removed);
+        }
+        log.info("Built occupancy index for {} items from {} bookings in {} ms ({} bitmap bytes)",
+                built.size(), slots.size(), (System.nanoTime() - started) / 1_000_000, getBitmapSizeInBytes());
+    }
+
+    /**
+     * Returns up to {@code query.limit()} ids of items free over the query range, after
+     * {@code query.afterId()} in id order.
+     */
+    public List<UUID> findAvailable(AvailableItemQuery query) {
+        DayRange range = DayRange.of(query.start(), query.end());
+        ConcurrentNavigableMap<UUID, ItemOccupancy> snapshot = items;
+        Iterator<ItemOccupancy> candidates = (query.afterId() == null
+                ? snapshot : snapshot.tailMap(query.afterId(), false)).values().iterator();
+
+        List<UUID> found = new ArrayList<>(query.limit());
+        List<ItemOccupancy> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (found.size() < query.limit() && candidates.hasNext()) {
+            chunk.clear();
+            while (chunk.size() < CHUNK_SIZE && candidates.hasNext()) {
+                chunk.add(candidates.next());
+            }
+
+            // Parallel streams keep encounter order, so the chunk stays sorted by id
+            List<Candidate> open = chunk.parallelStream()
+                    .filter(occupancy -> occupancy.matches(query))
+                    .map(occupancy -> new Candidate(occupancy.itemId, occupancy.check(range)))
+                    .filter(candidate -> candidate.verdict != Verdict.BOOKED)
+                    .toList();
+            Set<UUID> conflicting = conflictingOnBoundaryDays(open, query);
+
+            for (Candidate candidate : open) {
+                if (!conflicting.contains(candidate.itemId)) {
+                    found.add(candidate.itemId);
+                    if (found.size() == query.limit()) {
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public void addAfterCommit(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        afterCommit(() -> add(itemId, startDate, endDate));
+    }
+
+    public void removeAfterCommit(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        afterCommit(() -> remove(itemId, startDate, endDate));
+    }
+
+    /**
+     * Like {@link #removeAfterCommit} for many bookings at once, refilled with one query.
+     */
+    public void removeAllAfterCommit(List<BookedRange> ranges) {
+        afterCommit(() -> remove(ranges));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        if (event.getChangeType() == ItemChangedEvent.ChangeType.DELETED) {
+            items.remove(event.getItemId());
+            return;
+        }
+        itemRepository.findById(event.getItemId()).ifPresent(item -> items
+                .computeIfAbsent(item.getId(), id -> new ItemOccupancy(id, null))
+                .facts = ItemFacts.of(item));
+    }
+
+    public long getBitmapSizeInBytes() {
+        long bytes = 0;
+        for (ItemOccupancy occupancy : items.values()) {
+            bytes += occupancy.days.getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    void add(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (!enabled) {
+            return;
+        }
+        BookedRange range = new BookedRange(itemId, startDate, endDate);
+        swapLock.readLock().lock();
+        try {
+            apply(items, range);
+            if (journal != null) {
+                journal.add(new Change(true, range));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    void remove(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        remove(List.of(new BookedRange(itemId, startDate, endDate)));
+    }
+
+    /**
+     * Clears the days of cancelled bookings. Bookings that ended before today are skipped: a
+     * rebuild does not load them either. Other bookings may share the days, so the ranges are
+     * refilled from the active bookings the database still has there, read with one query
+     * before any item lock is taken. An item changed while the query ran is queried again, up to
+     * {@value #REMOVE_ATTEMPTS} times; after that its days stay set until the next rebuild, which
+     * hides the item from searches rather than offering booked days.
+     */
+    private void remove(List<BookedRange> ranges) {
+        if (!enabled) {
+            return;
+        }
+        long today = LocalDate.now().toEpochDay();
+        ranges = ranges.stream().filter(range -> day(range.endDate()) >= today).toList();
+        if (ranges.isEmpty()) {
+            return;
+        }
+        ConcurrentNavigableMap<UUID, ItemOccupancy> target;
+        swapLock.readLock().lock();
+        try {
+            target = items;
+            if (journal != null) {
+                for (BookedRange range : ranges) {
+                    journal.add(new Change(false, range));
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+
+        Map<UUID, List<BookedRange>> pending = new HashMap<>();
+        for (BookedRange range : ranges) {
+            pending.computeIfAbsent(range.itemId(), id -> new ArrayList<>()).add(range);
+        }
+        for (int attempt = 1; attempt <= REMOVE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            pending = removeOnce(target, pending);
+        }
+        if (!pending.isEmpty()) {
+            log.debug("Items {} kept changing, their days are refreshed by the next rebuild", pending.keySet());
+        }
+    }
+
+    /**
+     * @return the ranges of items that changed while the query ran
+     */
+    private Map<UUID, List<BookedRange>> removeOnce(ConcurrentNavigableMap<UUID, ItemOccupancy> target,
+                                                    Map<UUID, List<BookedRange>> ranges) {
+        Map<UUID, Long> versions = new HashMap<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Map.Entry<UUID, List<BookedRange>> entry : ranges.entrySet()) {
+            ItemOccupancy occupancy = target.get(entry.getKey());
+            if (occupancy == null) {
+                continue;
+            }
+            versions.put(entry.getKey(), occupancy.version);
+            for (BookedRange range : entry.getValue()) {
+                first = Math.min(first, day(range.startDate()));
+                last = Math.max(last, day(range.endDate()));
+            }
+        }
+        if (versions.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, List<BookingSlot>> remaining = new HashMap<>();
+        for (BookingSlot slot : bookingRepository.findConflictingBookingSlots(List.copyOf(versions.keySet()),
+                LocalDate.ofEpochDay(first).atStartOfDay(), LocalDate.ofEpochDay(last).atTime(LocalTime.MAX))) {
+            remaining.computeIfAbsent(slot.getItemId(), id -> new ArrayList<>()).add(slot);
+        }
+
+        Map<UUID, List<BookedRange>> changed = new HashMap<>();
+        for (Map.Entry<UUID, Long> entry : versions.entrySet()) {
+            ItemOccupancy occupancy = target.get(entry.getKey());
+            List<BookedRange> itemRanges = ranges.get(entry.getKey());
+            occupancy.lock.lock();
+            try {
+                if (occupancy.version != entry.getValue()) {
+                    changed.put(entry.getKey(), itemRanges);
+                    continue;
+                }
+                RoaringBitmap days = occupancy.days.clone();
+                for (BookedRange range : itemRanges) {
+                    days.remove(day(range.startDate()), day(range.endDate()) + 1);
+                }
+                for (BookedRange range : itemRanges) {
+                    for (BookingSlot slot : remaining.getOrDefault(entry.getKey(), List.of())) {
+                        long from = Math.max(day(range.startDate()), day(slot.getStartDate()));
+                        long to = Math.min(day(range.endDate()), day(slot.getEndDate()));
+                        if (from <= to) {
+                            days.add(from, to + 1);
+                        }
+                    }
+                }
+                occupancy.publish(days);
+            } finally {
+                occupancy.lock.unlock();
+            }
+        }
+        return changed;
+    }
+
+    private static void apply(ConcurrentNavigableMap<UUID, ItemOccupancy> target, BookedRange range) {
+        ItemOccupancy occupancy = target.computeIfAbsent(range.itemId(), id -> new ItemOccupancy(id, null));
+        occupancy.lock.lock();
+        try {
+            RoaringBitmap days = occupancy.days.clone();
+            days.add(day(range.startDate()), day(range.endDate()) + 1);
+            occupancy.publish(days);
+        } finally {
+            occupancy.lock.unlock();
+        }
+    }
+
+    private Set<UUID> conflictingOnBoundaryDays(List<Candidate> candidates, AvailableItemQuery query) {
+        List<UUID> uncertain = candidates.stream()
+                .filter(candidate -> candidate.verdict == Verdict.UNCERTAIN)
+                .map(Candidate::itemId)
+                .toList();
+        if (uncertain.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> conflicting = new HashSet<>();
+        for (BookingSlot slot : bookingRepository.findConflictingBookingSlots(uncertain, query.start(), query.end())) {
+            conflicting.add(slot.getItemId());
+        }
+        return conflicting;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long day(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay();
+    }
+
+    private enum Verdict {
+        FREE,
+        BOOKED,
+        UNCERTAIN
+    }
+
+    private record Candidate(UUID itemId, Verdict verdict) {
+    }
+
+    record BookedRange(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) {
+    }
+
+    private record Change(boolean added, BookedRange range) {
+    }
+
+    /**
+     * Epoch days of a search range. Days strictly between the first and last day are fully
+     * covered, and so is the first day when the range starts at midnight.
+     */
+    private record DayRange(long first, long last, long firstFull, long lastFull) {
+
+        static DayRange of(LocalDateTime start, LocalDateTime end) {
+            long first = day(start);
+            long last = day(end);
+            long firstFull = start.toLocalTime().equals(LocalTime.MIDNIGHT) ? first : first + 1;
+            return new DayRange(first, last, firstFull, last - 1);
+        }
+    }
+
+    private record ItemFacts(String category, String location, BigDecimal pricePerDay, boolean available) {
+
+        static ItemFacts of(Item item) {
+            return new ItemFacts(item.getCategory(), item.getLocation(), item.getPricePerDay(),
+                    Boolean.TRUE.equals(item.getIsAvailable()));
+        }
+    }
+
+    private static final class ItemOccupancy {
+
+        private final UUID itemId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile ItemFacts facts;
+        private volatile RoaringBitmap days = new RoaringBitmap();
+        /** Bumped by every change to {@link #days}, under {@link #lock}. */
+        private volatile long version;
+
+        ItemOccupancy(UUID itemId, ItemFacts facts) {
+            this.itemId = itemId;
+            this.facts = facts;
+        }
+
+        boolean matches(AvailableItemQuery query) {
+            ItemFacts current = facts;
+            return current != null
+                    && current.available()
+                    && (query.category() == null || query.category().equals(current.category()))
+                    && (query.location() == null || query.location().equals(current.location()))
+                    && (query.maxPrice() == null || (current.pricePerDay() != null
+                        && current.pricePerDay().compareTo(query.maxPrice()) <= 0));
+        }
+
+        void publish(RoaringBitmap changed) {
+            days = changed;
+            version++;
+        }
+
+        Verdict check(DayRange range) {
+            RoaringBitmap current = days;
+            if (range.firstFull() <= range.lastFull() && current.intersects(range.firstFull(), range.lastFull() + 1)) {
+                return Verdict.BOOKED;
+            }
+            boolean edgeBooked = (range.firstFull() != range.first() && current.contains((int) range.first()))
+                    || current.contains((int) range.last());
+            return edgeBooked ? Verdict.UNCERTAIN : Verdict.FREE;
+        }
+    }
+}
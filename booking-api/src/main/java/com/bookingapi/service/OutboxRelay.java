@@ -0,0 +1,156 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.OutboxEvent;
+import com.bookingapi.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transactional outbox to Kafka in id order.
+ *
+ * <p>Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, sent, and deleted only after
+ * every send in the batch has been acknowledged. A failed batch is rolled back and retried on
+ * the next poll, so delivery is at-least-once. When several instances relay concurrently,
+ * ordering holds within a batch but not across batches taken by different instances.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "booking.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final EventProducerService eventProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Counter discardedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxService outboxService,
+                       EventProducerService eventProducerService,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.outbox.batch-size:100}") int batchSize,
+                       @Value("${booking.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.eventProducerService = eventProducerService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        this.publishedCounter = Counter.builder("booking.outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("booking.outbox.failures")
+                .description("Outbox relay batches rolled back for retry")
+                .register(meterRegistry);
+        this.discardedCounter = Counter.builder("booking.outbox.discarded")
+                .description("Outbox events dropped because their payload could not be read")
+                .register(meterRegistry);
+        Gauge.builder("booking.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("booking.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("Outbox relay failed, batch will be retried: {}", e.getMessage(), e);
+        } finally {
+            refreshLag();
+        }
+    }
+
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+            for (OutboxEvent outboxEvent : batch) {
+                Object event;
+                try {
+                    event = outboxService.readPayload(outboxEvent);
+                } catch (Exception e) {
+                    discardedCounter.increment();
+                    log.error("Discarding unreadable outbox event {}: {}", outboxEvent.getId(), e.getMessage());
+                    continue;
+                }
+                sends.add(eventProducerService.send(outboxEvent.getTopic(), outboxEvent.getEventKey(), event));
+            }
+
+            awaitAll(sends);
+            outboxEventRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+
+        int count = relayed == null ? 0 : relayed;
+        if (count > 0) {
+            publishedCounter.increment(count);
+            log.debug("Relayed {} outbox events", count);
+        }
+        return count;
+    }
+
+    private void awaitAll(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox batch", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish outbox batch", e);
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+            pending.set(outboxEventRepository.count());
+        } catch (Exception e) {
+            log.warn("Could not refresh outbox lag: {}", e.getMessage());
+        }
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.OutboxEvent;
+import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.event.BookingStatusChangedEvent;
+import com.bookingapi.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Writes domain events to the transactional outbox. Events are stored in the same
+ * transaction as the state change that produced them and published later by {@link OutboxRelay}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            BookingCreatedEvent.class.getSimpleName(), BookingCreatedEvent.class,
+            BookingStatusChangedEvent.class.getSimpleName(), BookingStatusChangedEvent.class
+    );
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBookingCreated(BookingCreatedEvent event) {
+        enqueue(EventProducerService.BOOKING_CREATED_TOPIC, event.getBookingId().toString(), event);
+    }
+
+    /**
+     * Unkeyed, since one event covers many bookings; the producer spreads them over partitions.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBookingStatusChanged(BookingStatusChangedEvent event) {
+        enqueue(EventProducerService.BOOKING_STATUS_CHANGED_TOPIC, null, event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, Object event) {
+        String eventType = event.getClass().getSimpleName();
+        if (!EVENT_TYPES.containsKey(eventType)) {
+            throw new IllegalArgumentException("Unsupported outbox event type: " + eventType);
+        }
+
+        try {
+            OutboxEvent outboxEvent = OutboxEvent.builder()
+                    .topic(topic)
+                    .eventKey(key)
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build();
+            outboxEventRepository.save(outboxEvent);
+            log.debug("Queued {} for topic {} with key {}", eventType, topic, key);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event " + eventType, e);
+        }
+    }
+
+    Object readPayload(OutboxEvent outboxEvent) throws JsonProcessingException {
+        Class<?> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + outboxEvent.getEventType());
+        }
+        return objectMapper.readValue(outboxEvent.getPayload(), type);
+    }
+}
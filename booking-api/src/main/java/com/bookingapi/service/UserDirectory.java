@@ -0,0 +1,80 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.UserSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory view of the users known to booking-api, fed by {@code user_registered} events and
+ * backed by the {@code users} table for misses.
+ *
+ * <p>The booking path validates users here instead of loading {@code User} entities, so a
+ * cached user costs no database read. Unknown ids are not cached, so a user whose registration
+ * arrives later is found on the next lookup.</p>
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, UserSummary> cache;
+
+    public UserDirectory(UserRepository userRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${booking.user-cache.max-size:500000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<UserSummary> find(UUID userId) {
+        UserSummary cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserSummary> loaded = userRepository.findSummaryById(userId);
+        loaded.ifPresent(summary -> cache.put(userId, summary));
+        return loaded;
+    }
+
+    /**
+     * Resolves many users, loading all cache misses with one query.
+     */
+    public Map<UUID, UserSummary> findAll(Collection<UUID> userIds) {
+        Map<UUID, UserSummary> found = new HashMap<>(cache.getAllPresent(userIds));
+        Set<UUID> missing = new HashSet<>(userIds);
+        missing.removeAll(found.keySet());
+
+        if (!missing.isEmpty()) {
+            for (UserSummary summary : userRepository.findSummariesByIdIn(missing)) {
+                cache.put(summary.id(), summary);
+                found.put(summary.id(), summary);
+            }
+        }
+        return found;
+    }
+
+    public void putAll(Collection<UserSummary> users) {
+        for (UserSummary user : users) {
+            cache.put(user.id(), user);
+        }
+    }
+}
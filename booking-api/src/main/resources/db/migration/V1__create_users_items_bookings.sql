@@ -0,0 +1,63 @@
+-- Tables and indexes formerly created by Hibernate (ddl-auto=update) from the entity mappings.
+-- IF NOT EXISTS lets databases created that way be adopted as they are.
+
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID         NOT NULL PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    phone       VARCHAR(20),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
+
+CREATE TABLE IF NOT EXISTS items (
+    id                 UUID           NOT NULL PRIMARY KEY,
+    name               VARCHAR(255)   NOT NULL,
+    description        TEXT,
+    category           VARCHAR(100),
+    price_per_day      NUMERIC(10, 2) NOT NULL,
+    max_duration_days  INTEGER        NOT NULL,
+    is_available       BOOLEAN        NOT NULL,
+    location           VARCHAR(255),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_items_category ON items (category);
+CREATE INDEX IF NOT EXISTS idx_items_available ON items (is_available);
+CREATE INDEX IF NOT EXISTS idx_items_price ON items (price_per_day);
+CREATE INDEX IF NOT EXISTS idx_items_location ON items (location);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id           UUID           NOT NULL PRIMARY KEY,
+    user_id      UUID           NOT NULL REFERENCES users (id),
+    item_id      UUID           NOT NULL REFERENCES items (id),
+    start_date   TIMESTAMP(6)   NOT NULL,
+    end_date     TIMESTAMP(6)   NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL,
+    status       VARCHAR(255)   NOT NULL
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'PAID', 'ACTIVE', 'COMPLETED', 'CANCELLED', 'REFUNDED')),
+    notes        TEXT,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_user_start_id ON bookings (user_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings (status);
+CREATE INDEX IF NOT EXISTS idx_bookings_start_date ON bookings (start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_end_date ON bookings (end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_date_range ON bookings (start_date, end_date);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic       VARCHAR(100) NOT NULL,
+    event_key   VARCHAR(100),
+    event_type  VARCHAR(100) NOT NULL,
+    payload     TEXT         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Only bookings that still block an item; serves the NOT EXISTS probe of the availability search
+CREATE INDEX IF NOT EXISTS idx_bookings_active_item_range
+    ON bookings (item_id, start_date, end_date)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED');
+
+-- Bookable items in cursor order, overall and per category / location filter
+CREATE INDEX IF NOT EXISTS idx_items_available_id
+    ON items (id)
+    WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS idx_items_available_category_id
+    ON items (category, id)
+    WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS idx_items_available_location_id
+    ON items (location, id)
+    WHERE is_available;
@@ -0,0 +1,16 @@
+-- Booked period as one value; both bounds inclusive, like the overlap queries in BookingRepository
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS period tsrange
+    GENERATED ALWAYS AS (tsrange(start_date, end_date, '[]')) STORED;
+
+-- No two blocking bookings of the same item may overlap; inserts that would are rejected with 23P01
+DO $$
+BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+        EXCLUDE USING gist (item_id WITH =, period WITH &&)
+        WHERE (status NOT IN ('CANCELLED', 'COMPLETED'));
+EXCEPTION
+    WHEN duplicate_table OR duplicate_object THEN NULL;
+END
+$$;
@@ -0,0 +1,103 @@
+-- bookings becomes a table range-partitioned by month of start_date: bookings_y<YYYY>m<MM> holds
+-- [first of the month, first of the next), bookings_default anything no monthly partition covers.
+-- BookingPartitionManager creates the months ahead and detaches old ones; this migration only
+-- covers the existing rows and the next three months.
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER TABLE bookings_unpartitioned RENAME CONSTRAINT bookings_pkey TO bookings_unpartitioned_pkey;
+ALTER TABLE bookings_unpartitioned DROP CONSTRAINT IF EXISTS bookings_no_overlap;
+DROP INDEX IF EXISTS idx_bookings_user_start_id;
+DROP INDEX IF EXISTS idx_bookings_item_start_id;
+DROP INDEX IF EXISTS idx_bookings_status;
+DROP INDEX IF EXISTS idx_bookings_start_date;
+DROP INDEX IF EXISTS idx_bookings_end_date;
+DROP INDEX IF EXISTS idx_bookings_date_range;
+DROP INDEX IF EXISTS idx_bookings_active_item_range;
+
+-- The primary key has to contain the partition key; ids stay unique on their own
+CREATE TABLE bookings (
+    id           UUID           NOT NULL,
+    user_id      UUID           NOT NULL REFERENCES users (id),
+    item_id      UUID           NOT NULL REFERENCES items (id),
+    start_date   TIMESTAMP(6)   NOT NULL,
+    end_date     TIMESTAMP(6)   NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL,
+    status       VARCHAR(255)   NOT NULL
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'PAID', 'ACTIVE', 'COMPLETED', 'CANCELLED', 'REFUNDED')),
+    notes        TEXT,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT bookings_pkey PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+DO $$
+DECLARE
+    month date := date_trunc('month', coalesce((SELECT min(start_date) FROM bookings_unpartitioned), now()))::date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                'bookings_y' || to_char(month, 'YYYY') || 'm' || to_char(month, 'MM'),
+                month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    END LOOP;
+END
+$$;
+
+INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, notes, created_at, updated_at)
+SELECT id, user_id, item_id, start_date, end_date, total_price, status, notes, created_at, updated_at
+FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+-- Created on the parent, so every partition gets them, including partitions attached later.
+-- start_date alone is covered by the date range index and by partition pruning.
+CREATE INDEX IF NOT EXISTS idx_bookings_user_start_id ON bookings (user_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings (status);
+CREATE INDEX IF NOT EXISTS idx_bookings_end_date ON bookings (end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_date_range ON bookings (start_date, end_date);
+
+-- Exclusion constraints on a partitioned table must compare the partition key with =, and one
+-- per partition would miss a booking that runs into the next month. The periods of bookings that
+-- still block their item are therefore kept in one narrow table, where bookings_no_overlap keeps
+-- rejecting overlapping inserts with 23P01. Rows leave it when a booking is cancelled or completed,
+-- so it holds current and future bookings rather than the whole history.
+CREATE TABLE booking_claims (
+    booking_id  UUID    NOT NULL PRIMARY KEY,
+    item_id     UUID    NOT NULL,
+    period      tsrange NOT NULL,
+    CONSTRAINT bookings_no_overlap EXCLUDE USING gist (item_id WITH =, period WITH &&)
+);
+
+INSERT INTO booking_claims (booking_id, item_id, period)
+SELECT id, item_id, tsrange(start_date, end_date, '[]')
+FROM bookings
+WHERE status NOT IN ('CANCELLED', 'COMPLETED');
+
+CREATE OR REPLACE FUNCTION sync_booking_claim() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+            AND NEW.item_id = OLD.item_id
+            AND NEW.start_date = OLD.start_date
+            AND NEW.end_date = OLD.end_date
+            AND (NEW.status IN ('CANCELLED', 'COMPLETED')) = (OLD.status IN ('CANCELLED', 'COMPLETED')) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM booking_claims WHERE booking_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status NOT IN ('CANCELLED', 'COMPLETED') THEN
+        INSERT INTO booking_claims (booking_id, item_id, period)
+        VALUES (NEW.id, NEW.item_id, tsrange(NEW.start_date, NEW.end_date, '[]'));
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- An update that moves a row to another partition fires the delete and insert triggers
+CREATE TRIGGER bookings_sync_claim
+    AFTER INSERT OR DELETE OR UPDATE OF item_id, start_date, end_date, status ON bookings
+    FOR EACH ROW EXECUTE FUNCTION sync_booking_claim();
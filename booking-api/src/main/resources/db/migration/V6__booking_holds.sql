@@ -0,0 +1,8 @@
+-- Holds are PENDING bookings that lapse at hold_expires_at unless confirmed first; the column is
+-- cleared on confirmation and kept on released holds
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS hold_expires_at TIMESTAMP(6);
+
+-- Pending holds by expiry, for reloading them at startup and releasing ones no instance tracks
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_hold_expiry
+    ON bookings (hold_expires_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,9 @@
+-- Bookings due for a lifecycle transition: confirmed or paid ones by start, active ones by end.
+-- Rows leave these indexes as soon as they move on, so they stay small however long the history
+CREATE INDEX IF NOT EXISTS idx_bookings_lifecycle_start
+    ON bookings (start_date)
+    WHERE status IN ('CONFIRMED', 'PAID');
+
+CREATE INDEX IF NOT EXISTS idx_bookings_lifecycle_end
+    ON bookings (end_date)
+    WHERE status = 'ACTIVE';
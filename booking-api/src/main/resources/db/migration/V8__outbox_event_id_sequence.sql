@@ -0,0 +1,9 @@
+-- Outbox ids come from a sequence Hibernate draws 50 at a time (pooled), so queued events are
+-- inserted with JDBC batching instead of one round trip per row for an identity value. Nothing
+-- else may draw from it, so the identity is dropped rather than given the sequence as default
+ALTER TABLE outbox_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50 OWNED BY outbox_events.id;
+
+-- The first value handed out is the top of the first block, which must start above existing ids
+SELECT setval('outbox_events_seq', COALESCE((SELECT max(id) FROM outbox_events), 0) + 50, false);
@@ -18,11 +18,12 @@ import org.testcontainers.utility.DockerImageName;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = TestTokens.SECRET_PROPERTY)
 @Testcontainers
 @DirtiesContext
 class KafkaIntegrationTest {
@@ -77,10 +78,10 @@ class KafkaIntegrationTest {
                 .build();
 
         // When - Publish events
-        eventProducerService.publishBookingCreated(bookingEvent);
+        eventProducerService.send(EventProducerService.BOOKING_CREATED_TOPIC, bookingId.toString(), bookingEvent);
 
         // Simulate user registration event (normally from user service)
-        eventConsumerService.handleUserRegistered(userEvent);
+        eventConsumerService.handleUserRegisteredBatch(List.of(userEvent));
 
         // Then - Events should be processed without errors
         // In a real integration test, you might verify:
@@ -108,7 +109,7 @@ class KafkaIntegrationTest {
                 .build();
 
         // When & Then - Should not throw exceptions
-        eventProducerService.publishBookingCreated(event);
+        eventProducerService.send(EventProducerService.BOOKING_CREATED_TOPIC, event.getBookingId().toString(), event);
     }
 
     @Test
@@ -123,6 +124,6 @@ class KafkaIntegrationTest {
                 .build();
 
         // When & Then - Should not throw exceptions
-        eventConsumerService.handleUserRegistered(event);
+        eventConsumerService.handleUserRegisteredBatch(List.of(event));
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.bookingapi;
+
+import com.bookingapi.config.SecurityConfig;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * HS256 bearer tokens for tests that run the full security filter chain.
+ */
+public final class TestTokens {
+
+    /** Base64 of a 37-byte test key; pass as {@code booking.security.jwt.secret}. */
+    public static final String SECRET = "dGVzdC1vbmx5LWJvb2tpbmctYXBpLWp3dC1zaWduaW5nLWtleQ==";
+
+    public static final String SECRET_PROPERTY = "booking.security.jwt.secret=" + SECRET;
+
+    private TestTokens() {
+    }
+
+    public static String bearer(String subject, Duration validFor) {
+        return "Bearer " + encode(SECRET, subject, Instant.now(), validFor);
+    }
+
+    public static String encode(String secret, String subject, Instant issuedAt, Duration validFor) {
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(SecurityConfig.secretKey(secret)));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(subject)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(validFor))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+    }
+}
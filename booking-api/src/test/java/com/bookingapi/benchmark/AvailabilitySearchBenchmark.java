@@ -0,0 +1,156 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.ItemRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the availability search (NOT EXISTS anti-join over the partial active-booking
+ * index) against the number of rows in {@code bookings}, next to the former {@code NOT IN}
+ * query. Sizes default to 10k, 1M and 10M and can be overridden with
+ * {@code -Dbenchmark.availability.sizes=10000,1000000}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AvailabilitySearchBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int USERS = 1_000;
+    private static final int SEARCHES = 200;
+    private static final int LEGACY_SEARCHES = 10;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String LEGACY_NOT_IN =
+            "SELECT i.id FROM items i WHERE i.is_available AND i.id NOT IN " +
+            "(SELECT b.item_id FROM bookings b WHERE b.start_date <= ? AND b.end_date >= ? " +
+            "AND b.status NOT IN ('CANCELLED', 'COMPLETED')) LIMIT " + PAGE_SIZE;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchLatencyByBookingTableSize() throws Exception {
+        seedItemsAndUsers();
+        Random random = new Random(42);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long seeded = 0;
+        for (long size : sizes()) {
+            seedBookings(seeded, size);
+            seeded = size;
+            jdbcTemplate.execute("ANALYZE");
+
+            rows.add(measure("not-exists", size, SEARCHES, random, (start, end) ->
+                    itemRepository.findAvailablePage(
+                            new AvailableItemQuery(start, end, null, null, null, null, PAGE_SIZE)).size()));
+            rows.add(measure("not-exists-category-price", size, SEARCHES, random, (start, end) ->
+                    itemRepository.findAvailablePage(new AvailableItemQuery(start, end, "cat-3", null,
+                            new BigDecimal("120"), null, PAGE_SIZE)).size()));
+            rows.add(measure("legacy-not-in", size, LEGACY_SEARCHES, random, (start, end) ->
+                    jdbcTemplate.queryForList(LEGACY_NOT_IN, start, end).size()));
+        }
+
+        BenchmarkReport.write("availability-search", rows);
+        assertThat(rows).isNotEmpty();
+    }
+
+    private Map<String, Object> measure(String query, long bookings, int searches, Random random, Search search) {
+        long[] latencies = new long[searches];
+        long found = 0;
+        for (int i = 0; i < searches; i++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(random.nextInt(700));
+            LocalDateTime end = start.plusDays(1 + random.nextInt(7));
+            long began = System.nanoTime();
+            found += search.run(start, end);
+            latencies[i] = System.nanoTime() - began;
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("query", query);
+        row.put("bookings", bookings);
+        row.put("searches", searches);
+        row.put("avgItemsPerPage", found / searches);
+        row.put("p50Micros", BenchmarkReport.percentile(latencies, 50) / 1_000);
+        row.put("p99Micros", BenchmarkReport.percentile(latencies, 99) / 1_000);
+        return row;
+    }
+
+    private void seedItemsAndUsers() {
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'bench' || g || '@example.com', 'Bench', 'User', now(), now() " +
+                "FROM generate_series(1, ?) g", USERS);
+        // Every tenth item is unavailable; 20 categories, 50 locations, prices 10..209
+        jdbcTemplate.update("INSERT INTO items (id, name, category, price_per_day, max_duration_days, " +
+                "is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Item ' || g, 'cat-' || (g % 20), 10 + g % 200, 30, g % 10 <> 0, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g", ITEMS);
+    }
+
+    /**
+     * Adds bookings {@code from + 1 .. to}: one to seven days long, starting within the next two
+     * years, one in five cancelled so the partial index has something to leave out.
+     */
+    private void seedBookings(long from, long to) {
+        jdbcTemplate.update("WITH i AS (SELECT array_agg(id) AS ids FROM items), " +
+                "u AS (SELECT array_agg(id) AS ids FROM users) " +
+                "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+                "created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.ids[1 + (g % " + USERS + ")], i.ids[1 + ((g * 7919) % " + ITEMS + ")], " +
+                "now() + (g % 730) * interval '1 day', now() + (g % 730 + 1 + g % 7) * interval '1 day', 100, " +
+                "CASE WHEN g % 5 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, now(), now() " +
+                "FROM generate_series(?, ?) g, i, u", from + 1, to);
+    }
+
+    private static long[] sizes() {
+        String sizes = System.getProperty("benchmark.availability.sizes", "10000,1000000,10000000");
+        return Arrays.stream(sizes.split(",")).map(String::trim).mapToLong(Long::parseLong).sorted().toArray();
+    }
+
+    @FunctionalInterface
+    private interface Search {
+        long run(LocalDateTime start, LocalDateTime end);
+    }
+}
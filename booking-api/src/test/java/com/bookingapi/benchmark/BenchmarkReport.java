@@ -0,0 +1,52 @@
+package com.bookingapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints benchmark rows and writes them to {@code target/benchmarks/<name>.json} so results
+ * can be collected and compared between runs.
+ */
+final class BenchmarkReport {
+
+    private static final Path OUTPUT_DIR = Path.of("target", "benchmarks");
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkReport() {
+    }
+
+    static void write(String name, List<Map<String, Object>> rows) throws IOException {
+        System.out.println("=== " + name);
+        rows.forEach(row -> System.out.println(row));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("benchmark", name);
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("results", rows);
+        Files.createDirectories(OUTPUT_DIR);
+        MAPPER.writeValue(OUTPUT_DIR.resolve(name + ".json").toFile(), report);
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100) of an unsorted sample array, in the
+     * sample's unit. The array is sorted in place.
+     */
+    static long percentile(long[] samples, double percentile) {
+        if (samples.length == 0) {
+            return 0;
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile / 100.0 * samples.length) - 1;
+        return samples[Math.max(0, Math.min(index, samples.length - 1))];
+    }
+}
@@ -0,0 +1,221 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.TestTokens;
+import com.bookingapi.TestcontainersConfiguration;
+import com.bookingapi.service.EventProducerService;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load and correctness run of {@code POST /api/bookings} against the full service on the
+ * Postgres and Kafka containers of {@link TestcontainersConfiguration}.
+ *
+ * <p>Concurrent clients book random one-to-three-day periods within the next 60 days. A share
+ * of the requests goes to a few hot items, so many of them compete for the same dates. All
+ * clients send the same bearer token, as a logged-in client would. The run records throughput,
+ * latency percentiles and response statuses. Afterwards it checks that no item has overlapping
+ * active bookings and that Kafka received exactly one {@code booking_created} event for every
+ * persisted booking and none for anything else.</p>
+ *
+ * <p>Tunable with {@code -Dbenchmark.load.requests} (default 20000),
+ * {@code -Dbenchmark.load.concurrency} (64), {@code -Dbenchmark.load.hot-items} (10) and
+ * {@code -Dbenchmark.load.hot-share} (0.8). Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.bookingapi=WARN", TestTokens.SECRET_PROPERTY})
+@Import(TestcontainersConfiguration.class)
+class BookingLoadBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 1_000;
+    private static final int HORIZON_DAYS = 60;
+    private static final Duration EVENT_DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaConnectionDetails kafkaConnectionDetails;
+
+    @Test
+    void concurrentBookingsKeepInvariants() throws Exception {
+        int requests = Integer.getInteger("benchmark.load.requests", 20_000);
+        int concurrency = Integer.getInteger("benchmark.load.concurrency", 64);
+        int hotItems = Integer.getInteger("benchmark.load.hot-items", 10);
+        double hotShare = Double.parseDouble(System.getProperty("benchmark.load.hot-share", "0.8"));
+
+        List<UUID> users = seedUsers();
+        List<UUID> items = seedItems();
+        long[] latencies = new long[requests];
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        AtomicLong failures = new AtomicLong();
+        AtomicInteger next = new AtomicInteger();
+        String authorization = TestTokens.bearer("booking-load", Duration.ofHours(1));
+
+        long began = System.nanoTime();
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService clients = Executors.newFixedThreadPool(concurrency)) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        UUID itemId = random.nextDouble() < hotShare
+                                ? items.get(random.nextInt(hotItems))
+                                : items.get(random.nextInt(items.size()));
+                        LocalDateTime start = LocalDate.now().plusDays(1 + random.nextInt(HORIZON_DAYS))
+                                .atTime(random.nextInt(24), 0);
+                        LocalDateTime end = start.plusDays(1 + random.nextInt(3));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                        + "/api/bookings?userId=" + users.get(random.nextInt(users.size()))
+                                        + "&itemId=" + itemId + "&startDate=" + start + "&endDate=" + end))
+                                .header("Authorization", authorization)
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - began;
+
+        long overlapping = countOverlappingActiveBookings();
+        Set<String> persisted = new HashSet<>(jdbcTemplate.queryForList("SELECT id::text FROM bookings", String.class));
+        Map<String, Integer> events = awaitBookingCreatedEvents(persisted.size());
+        long duplicated = events.values().stream().filter(count -> count > 1).count();
+        long unknown = events.keySet().stream().filter(key -> !persisted.contains(key)).count();
+        long missing = persisted.stream().filter(id -> !events.containsKey(id)).count();
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("requests", requests);
+        row.put("concurrency", concurrency);
+        row.put("hotItems", hotItems);
+        row.put("hotShare", hotShare);
+        row.put("throughputPerSecond", requests * 1_000_000_000L / elapsedNanos);
+        row.put("p50Millis", BenchmarkReport.percentile(latencies, 50) / 1_000_000.0);
+        row.put("p99Millis", BenchmarkReport.percentile(latencies, 99) / 1_000_000.0);
+        row.put("p999Millis", BenchmarkReport.percentile(latencies, 99.9) / 1_000_000.0);
+        row.put("statuses", new TreeMap<>(statuses));
+        row.put("transportFailures", failures.get());
+        row.put("persistedBookings", persisted.size());
+        row.put("overlappingActiveBookings", overlapping);
+        row.put("bookingCreatedEvents", events.values().stream().mapToInt(Integer::intValue).sum());
+        row.put("duplicatedEvents", duplicated);
+        row.put("eventsWithoutBooking", unknown);
+        row.put("bookingsWithoutEvent", missing);
+        BenchmarkReport.write("booking-load", List.of(row));
+
+        assertThat(persisted).isNotEmpty();
+        assertThat(overlapping).as("overlapping active bookings").isZero();
+        assertThat(duplicated).as("bookings with more than one booking_created event").isZero();
+        assertThat(unknown).as("booking_created events without a booking").isZero();
+        assertThat(missing).as("bookings without a booking_created event").isZero();
+    }
+
+    private long countOverlappingActiveBookings() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM bookings a JOIN bookings b " +
+                "ON a.item_id = b.item_id AND a.id < b.id " +
+                "AND a.start_date <= b.end_date AND b.start_date <= a.end_date " +
+                "WHERE a.status NOT IN ('CANCELLED', 'COMPLETED') AND b.status NOT IN ('CANCELLED', 'COMPLETED')",
+                Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Reads {@code booking_created} from the beginning, counting events per booking id (the
+     * record key), until the outbox is drained and every persisted booking has been seen or the
+     * timeout passes.
+     */
+    private Map<String, Integer> awaitBookingCreatedEvents(int expected) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConnectionDetails.getConsumer().getBootstrapServers());
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "booking-load-" + UUID.randomUUID());
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        Map<String, Integer> counts = new HashMap<>();
+        long deadline = System.nanoTime() + EVENT_DRAIN_TIMEOUT.toNanos();
+        try (KafkaConsumer<String, byte[]> consumer =
+                     new KafkaConsumer<>(config, new StringDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of(EventProducerService.BOOKING_CREATED_TOPIC));
+            boolean drained = false;
+            while (System.nanoTime() < deadline) {
+                int polled = 0;
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofSeconds(1))) {
+                    counts.merge(record.key(), 1, Integer::sum);
+                    polled++;
+                }
+                // One more empty poll after the outbox empties lets late duplicates show up
+                if (polled == 0 && drained && counts.size() >= expected) {
+                    break;
+                }
+                drained = outboxIsEmpty();
+            }
+        }
+        return counts;
+    }
+
+    private boolean outboxIsEmpty() {
+        Long pending = jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class);
+        return pending != null && pending == 0;
+    }
+
+    private List<UUID> seedUsers() {
+        return jdbcTemplate.queryForList("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'load' || g || '-' || gen_random_uuid() || '@example.com', 'Load', 'User', " +
+                "now(), now() FROM generate_series(1, ?) g RETURNING id", UUID.class, USERS);
+    }
+
+    private List<UUID> seedItems() {
+        return jdbcTemplate.queryForList("INSERT INTO items (id, name, category, price_per_day, " +
+                "max_duration_days, is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Load item ' || g, 'cat-' || (g % 20), 10 + g % 200, 30, true, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g RETURNING id", UUID.class, ITEMS);
+    }
+}
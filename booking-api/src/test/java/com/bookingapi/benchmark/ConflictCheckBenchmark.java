@@ -0,0 +1,198 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.repository.BookingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the booking conflict check: the former pre-check query followed by the insert,
+ * against a plain insert guarded by the {@code bookings_no_overlap} exclusion constraint. Both are
+ * measured for conflicting and for free periods. The table size defaults to 1M bookings and can
+ * be overridden with {@code -Dbenchmark.conflict.bookings=100000}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConflictCheckBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int ATTEMPTS = 2_000;
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, 100, 'CONFIRMED', now(), now())";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void conflictCheckLatencyBeforeAndAfterExclusionConstraint() throws Exception {
+        long bookings = Long.getLong("benchmark.conflict.bookings", 1_000_000L);
+        LocalDateTime base = seed(bookings);
+        List<UUID> items = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", UUID.class);
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM users LIMIT 1", UUID.class);
+        int bookingsPerItem = (int) (bookings / ITEMS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // After: the constraint created by the V3 migration, on booking_claims since V5, rejects the insert itself
+        Attempt constrained = (itemId, start, end) -> {
+            try {
+                transaction.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_BOOKING, UUID.randomUUID(), userId, itemId, start, end));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                return false;
+            }
+        };
+        // Before: what createBooking did without the constraint, a conflict query and then the insert
+        Attempt prechecked = (itemId, start, end) -> Boolean.TRUE.equals(transaction.execute(status -> {
+            if (bookingRepository.isItemBookedInDateRange(itemId, start, end)) {
+                return false;
+            }
+            jdbcTemplate.update(INSERT_BOOKING, UUID.randomUUID(), userId, itemId, start, end);
+            return true;
+        }));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(measure("exclusion-constraint", "conflict", bookings, items, constrained,
+                conflicting(base, bookingsPerItem, new Random(1))));
+        rows.add(measure("exclusion-constraint", "free", bookings, items, constrained, free(base, 12)));
+
+        jdbcTemplate.execute("ALTER TABLE booking_claims DROP CONSTRAINT bookings_no_overlap");
+        rows.add(measure("precheck-query", "conflict", bookings, items, prechecked,
+                conflicting(base, bookingsPerItem, new Random(1))));
+        rows.add(measure("precheck-query", "free", bookings, items, prechecked, free(base, 2)));
+
+        BenchmarkReport.write("conflict-check", rows);
+        assertThat(rows).allSatisfy(row -> assertThat(row.get("unexpectedOutcomes")).isEqualTo(0));
+    }
+
+    private Map<String, Object> measure(String check, String outcome, long bookings, List<UUID> items,
+                                        Attempt attempt, Period period) {
+        boolean expectInserted = outcome.equals("free");
+        long[] latencies = new long[ATTEMPTS];
+        int unexpected = 0;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            UUID itemId = items.get(i % items.size());
+            LocalDateTime[] range = period.of(i);
+            long began = System.nanoTime();
+            boolean inserted = attempt.run(itemId, range[0], range[1]);
+            latencies[i] = System.nanoTime() - began;
+            if (inserted != expectInserted) {
+                unexpected++;
+            }
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("check", check);
+        row.put("outcome", outcome);
+        row.put("bookings", bookings);
+        row.put("attempts", ATTEMPTS);
+        row.put("unexpectedOutcomes", unexpected);
+        row.put("p50Micros", BenchmarkReport.percentile(latencies, 50) / 1_000);
+        row.put("p99Micros", BenchmarkReport.percentile(latencies, 99) / 1_000);
+        return row;
+    }
+
+    /**
+     * Seeds {@code bookings} non-overlapping bookings: booking {@code k} of an item covers days
+     * {@code 3k .. 3k + 2} from today, leaving a one-day gap before the next one.
+     */
+    private LocalDateTime seed(long bookings) {
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "VALUES (gen_random_uuid(), 'bench@example.com', 'Bench', 'User', now(), now())");
+        jdbcTemplate.update("INSERT INTO items (id, name, category, price_per_day, max_duration_days, " +
+                "is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Item ' || g, 'cat-' || (g % 20), 50, 30, true, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g", ITEMS);
+        LocalDateTime base = jdbcTemplate.queryForObject("SELECT date_trunc('day', now())::timestamp",
+                LocalDateTime.class);
+        jdbcTemplate.update("WITH i AS (SELECT array_agg(id ORDER BY id) AS ids FROM items), " +
+                "u AS (SELECT id FROM users LIMIT 1) " +
+                "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+                "created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.id, i.ids[1 + (g % " + ITEMS + ")], " +
+                "?::timestamp + (g / " + ITEMS + ") * 3 * interval '1 day', " +
+                "?::timestamp + ((g / " + ITEMS + ") * 3 + 2) * interval '1 day', 100, 'CONFIRMED', now(), now() " +
+                "FROM generate_series(0, ? - 1) g, i, u", base, base, bookings);
+        jdbcTemplate.execute("ANALYZE");
+        return base;
+    }
+
+    /**
+     * Periods overlapping the middle day of a random existing booking of the attempted item.
+     */
+    private static Period conflicting(LocalDateTime base, int bookingsPerItem, Random random) {
+        return attempt -> {
+            LocalDateTime start = base.plusDays(3L * random.nextInt(Math.max(1, bookingsPerItem)) + 1);
+            return new LocalDateTime[]{start, start.plusHours(12)};
+        };
+    }
+
+    /**
+     * Four-hour periods in the gap after an item's first booking, starting {@code fromHour} hours
+     * into the gap day. Attempts cycle over distinct items, so they never conflict with each other.
+     */
+    private static Period free(LocalDateTime base, int fromHour) {
+        return attempt -> {
+            LocalDateTime start = base.plusDays(2).plusHours(fromHour + (attempt / ITEMS) * 4L + 1);
+            return new LocalDateTime[]{start, start.plusHours(3)};
+        };
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        boolean run(UUID itemId, LocalDateTime start, LocalDateTime end);
+    }
+
+    @FunctionalInterface
+    private interface Period {
+        LocalDateTime[] of(int attempt);
+    }
+}
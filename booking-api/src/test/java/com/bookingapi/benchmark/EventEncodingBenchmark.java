@@ -0,0 +1,110 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.event.AvroEventCodec;
+import com.bookingapi.event.AvroEventDeserializer;
+import com.bookingapi.event.AvroEventSerializer;
+import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.event.LocalSchemaRegistry;
+import com.bookingapi.event.UserRegisteredEvent;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wire size and single-thread encode/decode throughput of the booking and user events as JSON
+ * with type headers and as Avro single-object records, through the Kafka serializers the
+ * producer and consumer factories use. JSON sizes include the type header, which travels with
+ * every record. Runs in memory. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class EventEncodingBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void bytesAndThroughputJsonVersusAvro() throws Exception {
+        LocalSchemaRegistry registry = new LocalSchemaRegistry();
+        registry.registerAll("classpath:avro/*.avsc");
+        AvroEventCodec codec = new AvroEventCodec(registry);
+
+        // Avro carries microseconds, the precision the database keeps
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        BookingCreatedEvent bookingCreated = new BookingCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), "Kayak",
+                now.plusDays(7), now.plusDays(11), new BigDecimal("227.50"), "CONFIRMED", now);
+        UserRegisteredEvent userRegistered = new UserRegisteredEvent(UUID.randomUUID(), "bench@example.com",
+                "Bench", "User", now);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String format : List.of("json", "avro")) {
+            rows.add(run(format, "booking_created", bookingCreated, codec));
+            rows.add(run(format, "user_registered", userRegistered, codec));
+        }
+        BenchmarkReport.write("event-encoding", rows);
+
+        assertThat(rows).hasSize(4);
+    }
+
+    private Map<String, Object> run(String format, String topic, Object event, AvroEventCodec codec) {
+        Serializer<Object> serializer = format.equals("avro")
+                ? new AvroEventSerializer(codec, new JsonSerializer<>())
+                : new JsonSerializer<>();
+        Deserializer<Object> deserializer = new AvroEventDeserializer(codec, new JsonDeserializer<>());
+        serializer.configure(Map.of(), false);
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] value = serializer.serialize(topic, headers, event);
+        Header[] savedHeaders = headers.toArray();
+        int headerBytes = 0;
+        for (Header header : savedHeaders) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        assertThat(deserializer.deserialize(topic, new RecordHeaders(savedHeaders), value)).isEqualTo(event);
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += serializer.serialize(topic, new RecordHeaders(), event).length;
+            sink += deserializer.deserialize(topic, new RecordHeaders(savedHeaders), value).hashCode();
+        }
+        long serializeStarted = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serializer.serialize(topic, new RecordHeaders(), event).length;
+        }
+        long serializeNanos = System.nanoTime() - serializeStarted;
+        long deserializeStarted = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += deserializer.deserialize(topic, new RecordHeaders(savedHeaders), value).hashCode();
+        }
+        long deserializeNanos = System.nanoTime() - deserializeStarted;
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("format", format);
+        row.put("event", topic);
+        row.put("valueBytes", value.length);
+        row.put("headerBytes", headerBytes);
+        row.put("bytesPerEvent", value.length + headerBytes);
+        row.put("serializePerSecond", ITERATIONS * 1_000_000_000L / serializeNanos);
+        row.put("deserializePerSecond", ITERATIONS * 1_000_000_000L / deserializeNanos);
+        row.put("serializeNanos", serializeNanos / ITERATIONS);
+        row.put("deserializeNanos", deserializeNanos / ITERATIONS);
+        row.put("checksum", sink);
+        return row;
+    }
+}
@@ -0,0 +1,197 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingTransition;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to move a backlog of started and ended bookings through their lifecycle: row by row with one
+ * transaction per booking, and with the chunked {@code UPDATE ... RETURNING} of
+ * {@code BookingLifecycleEngine} at several chunk sizes, by one worker and by four sharing the
+ * backlog through {@code SKIP LOCKED}. The backlog defaults to 200k bookings and can be overridden
+ * with {@code -Dbenchmark.lifecycle.bookings=1000000}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LifecycleTransitionBenchmark {
+
+    private static final int ITEMS = 5_000;
+    private static final int FUTURE_BOOKINGS = 100_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "8");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void chunkedTransitionsVersusRowByRow() throws Exception {
+        int bookings = Integer.getInteger("benchmark.lifecycle.bookings", 200_000);
+        seed(bookings);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        reset();
+        rows.add(measure("row-by-row", 1, 1, bookings, () -> {
+            List<Map<String, Object>> due = jdbcTemplate.queryForList("SELECT id, start_date, end_date FROM bookings " +
+                    "WHERE status IN ('CONFIRMED', 'PAID') AND start_date <= ?", now);
+            for (Map<String, Object> booking : due) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                        "UPDATE bookings SET status = CASE WHEN end_date <= ? THEN 'COMPLETED' ELSE 'ACTIVE' END, " +
+                        "updated_at = ? WHERE id = ? AND start_date = ?",
+                        now, now, booking.get("id"), booking.get("start_date")));
+            }
+            return due.size();
+        }));
+
+        for (int chunkSize : new int[]{100, 1_000, 5_000}) {
+            for (int workers : new int[]{1, 4}) {
+                reset();
+                rows.add(measure("chunked", chunkSize, workers, bookings, () -> drain(transactionTemplate, now, chunkSize, workers)));
+            }
+        }
+
+        BenchmarkReport.write("lifecycle-transitions", rows);
+        for (Map<String, Object> row : rows) {
+            assertThat(row.get("moved")).isEqualTo(bookings);
+        }
+    }
+
+    private int drain(TransactionTemplate transactionTemplate, LocalDateTime now, int chunkSize, int workers)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                results.add(executor.submit(() -> {
+                    int moved = 0;
+                    List<BookingTransition> chunk;
+                    do {
+                        chunk = transactionTemplate.execute(status -> bookingRepository.activateDueBookings(now, chunkSize));
+                        moved += chunk.size();
+                    } while (chunk.size() == chunkSize);
+                    return moved;
+                }));
+            }
+            int moved = 0;
+            for (Future<Integer> result : results) {
+                moved += result.get();
+            }
+            return moved;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Map<String, Object> measure(String strategy, int chunkSize, int workers, int bookings, Run run)
+            throws Exception {
+        long began = System.nanoTime();
+        int moved = run.moved();
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("strategy", strategy);
+        row.put("chunkSize", chunkSize);
+        row.put("workers", workers);
+        row.put("bookings", bookings);
+        row.put("moved", moved);
+        row.put("millis", elapsedMillis);
+        row.put("bookingsPerSecond", elapsedMillis == 0 ? 0 : moved * 1_000L / elapsedMillis);
+        return row;
+    }
+
+    /**
+     * Seeds {@code bookings} confirmed bookings that started in the past, the most recent ones
+     * still running, plus future bookings the transitions must leave alone.
+     */
+    private void seed(int bookings) {
+        LocalDateTime from = LocalDateTime.now().minusDays(6L * (bookings / ITEMS) - 3);
+        List<YearMonth> existing = bookingRepository.findMonthlyPartitions();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.now().plusMonths(5)); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                bookingRepository.createMonthlyPartition(month);
+            }
+        }
+
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "VALUES (gen_random_uuid(), 'bench@example.com', 'Bench', 'User', now(), now())");
+        jdbcTemplate.update("INSERT INTO items (id, name, category, price_per_day, max_duration_days, " +
+                "is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Item ' || g, 'cat-' || (g % 20), 50, 30, true, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g", ITEMS);
+        // Round k of an item starts 6k days after the first, at the item's own second, and lasts
+        // one day, or five for every third booking, so bookings of one item never overlap
+        String insert = "WITH i AS (SELECT array_agg(id ORDER BY id) AS ids FROM items), " +
+                "u AS (SELECT id FROM users LIMIT 1) " +
+                "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+                "created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.id, i.ids[1 + (g % " + ITEMS + ")], s, " +
+                "s + CASE WHEN g % 3 = 0 THEN interval '5 days' ELSE interval '1 day' END, 100, 'CONFIRMED', now(), now() " +
+                "FROM generate_series(0, ? - 1) g, i, u, " +
+                "LATERAL (SELECT date_trunc('hour', ?::timestamp) + (g % " + ITEMS + ") * interval '1 second' " +
+                "+ (g / " + ITEMS + ") * interval '6 days' AS s) d";
+        jdbcTemplate.update(insert, bookings, from);
+        jdbcTemplate.update(insert, FUTURE_BOOKINGS, LocalDateTime.now().plusDays(7));
+        jdbcTemplate.execute("CREATE TABLE lifecycle_backlog AS SELECT id, start_date FROM bookings WHERE start_date <= now()");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void reset() {
+        jdbcTemplate.update("UPDATE bookings b SET status = 'CONFIRMED' FROM lifecycle_backlog l " +
+                "WHERE b.id = l.id AND b.start_date = l.start_date");
+        jdbcTemplate.execute("VACUUM ANALYZE bookings");
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        int moved() throws Exception;
+    }
+}
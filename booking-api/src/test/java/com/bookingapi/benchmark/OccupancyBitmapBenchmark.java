@@ -0,0 +1,159 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.entity.Item;
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingSlot;
+import com.bookingapi.repository.ItemRepository;
+import com.bookingapi.service.ItemOccupancyIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Memory footprint of the occupancy bitmaps per 100k items, and search latency for a
+ * "free next weekend" query, at increasing booking densities. Runs in memory; the database is
+ * replaced by generated rows. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class OccupancyBitmapBenchmark {
+
+    private static final int ITEMS = 100_000;
+    private static final int HORIZON_DAYS = 730;
+    private static final int[] BOOKINGS_PER_ITEM = {4, 12, 24};
+    private static final int SEARCHES = 200;
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    void memoryAndSearchLatencyPer100kItems() throws Exception {
+        List<Item> items = items();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int bookingsPerItem : BOOKINGS_PER_ITEM) {
+            rows.add(run(items, bookingsPerItem));
+        }
+        BenchmarkReport.write("occupancy-bitmaps", rows);
+        assertThat(rows).hasSize(BOOKINGS_PER_ITEM.length);
+    }
+
+    private Map<String, Object> run(List<Item> items, int bookingsPerItem) {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        List<BookingSlot> slots = slots(items, bookingsPerItem);
+        when(itemRepository.findAll()).thenReturn(items);
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(slots);
+        // Boundary-day candidates are treated as free, leaving only the in-memory cost
+        when(bookingRepository.findConflictingBookingSlots(anyCollection(), any(), any())).thenReturn(List.of());
+
+        ItemOccupancyIndex index = new ItemOccupancyIndex(itemRepository, bookingRepository,
+                new SimpleMeterRegistry(), true);
+        long buildStarted = System.nanoTime();
+        index.load();
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        LocalDateTime saturday = LocalDate.now().plusDays(30).atStartOfDay();
+        Random random = new Random(7);
+        long[] wholeCatalog = new long[SEARCHES];
+        long[] filtered = new long[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            LocalDateTime start = saturday.plusWeeks(random.nextInt(80));
+            wholeCatalog[i] = time(() -> index.findAvailable(
+                    new AvailableItemQuery(start, start.plusDays(2), null, null, null, null, PAGE_SIZE)));
+            filtered[i] = time(() -> index.findAvailable(
+                    new AvailableItemQuery(start, start.plusDays(2), "cat-7", null, new BigDecimal("60"), null, PAGE_SIZE)));
+        }
+
+        long bitmapBytes = index.getBitmapSizeInBytes();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("items", ITEMS);
+        row.put("bookingsPerItem", bookingsPerItem);
+        row.put("bookings", slots.size());
+        row.put("bitmapBytesPer100kItems", bitmapBytes * 100_000 / ITEMS);
+        row.put("bitmapBytesPerItem", bitmapBytes / ITEMS);
+        row.put("buildMillis", buildMillis);
+        row.put("searchP50Micros", BenchmarkReport.percentile(wholeCatalog, 50) / 1_000);
+        row.put("searchP99Micros", BenchmarkReport.percentile(wholeCatalog, 99) / 1_000);
+        row.put("filteredSearchP50Micros", BenchmarkReport.percentile(filtered, 50) / 1_000);
+        row.put("filteredSearchP99Micros", BenchmarkReport.percentile(filtered, 99) / 1_000);
+        row.put("cores", Runtime.getRuntime().availableProcessors());
+        return row;
+    }
+
+    private static long time(Runnable search) {
+        long started = System.nanoTime();
+        search.run();
+        return System.nanoTime() - started;
+    }
+
+    private static List<Item> items() {
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(Item.builder()
+                    .id(UUID.randomUUID())
+                    .name("Item " + i)
+                    .category("cat-" + (i % 20))
+                    .location("loc-" + (i % 50))
+                    .pricePerDay(BigDecimal.valueOf(10 + i % 200))
+                    .isAvailable(i % 10 != 0)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Non-overlapping bookings of one to seven days per item, spread over a two-year horizon.
+     */
+    private static List<BookingSlot> slots(List<Item> items, int bookingsPerItem) {
+        Random random = new Random(bookingsPerItem);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        int stride = HORIZON_DAYS / bookingsPerItem;
+        List<BookingSlot> slots = new ArrayList<>(items.size() * bookingsPerItem);
+        for (Item item : items) {
+            for (int b = 0; b < bookingsPerItem; b++) {
+                LocalDateTime start = today.plusDays((long) b * stride + random.nextInt(Math.max(1, stride - 7)))
+                        .plusHours(random.nextInt(24));
+                LocalDateTime end = start.plusDays(1 + random.nextInt(Math.min(7, stride)));
+                slots.add(new Slot(item.getId(), start, end));
+            }
+        }
+        return slots;
+    }
+
+    private record Slot(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) implements BookingSlot {
+
+        @Override
+        public UUID getId() {
+            return null;
+        }
+
+        @Override
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+    }
+}
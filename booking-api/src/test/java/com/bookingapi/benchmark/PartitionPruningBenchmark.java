@@ -0,0 +1,202 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.repository.BookingRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the date-window booking queries on the monthly partitioned {@code bookings} table,
+ * next to the same queries on an unpartitioned copy with the indexes the table had before V5.
+ * Bookings cover the last two years and the next six months, so most of the history is completed
+ * and only the recent months still block their items. The table size defaults to 3M bookings and
+ * can be overridden with {@code -Dbenchmark.partitions.bookings=1000000}. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PartitionPruningBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int QUERIES = 1_000;
+    private static final int HISTORY_MONTHS = 24;
+    private static final int PAGE_SIZE = 50;
+    private static final String BLOCKING = "status NOT IN ('CANCELLED', 'COMPLETED')";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void windowQueriesPartitionedVersusUnpartitioned() throws Exception {
+        long bookings = Long.getLong("benchmark.partitions.bookings", 3_000_000L);
+        LocalDateTime from = seed(bookings);
+        List<UUID> items = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", UUID.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(measure("item-booked", "unpartitioned", bookings, items, now, (itemId, start, end) ->
+                Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM bookings_flat " +
+                        "WHERE item_id = ? AND start_date <= ? AND end_date >= ? AND " + BLOCKING + ")",
+                        Boolean.class, itemId, end, start)) ? 1 : 0));
+        rows.add(measure("item-booked", "partitioned", bookings, items, now, (itemId, start, end) ->
+                bookingRepository.isItemBookedInDateRange(itemId, start, end) ? 1 : 0));
+
+        rows.add(measure("item-conflicts", "unpartitioned", bookings, items, now, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT * FROM bookings_flat WHERE item_id = ? AND start_date <= ? " +
+                        "AND end_date >= ? AND " + BLOCKING, itemId, end, start).size()));
+        rows.add(measure("item-conflicts", "partitioned", bookings, items, now, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT b.* FROM booking_claims c JOIN bookings b ON b.id = c.booking_id " +
+                        "AND b.start_date = lower(c.period) WHERE c.item_id = ? AND c.period && tsrange(?, ?, '[]')",
+                        itemId, start, end).size()));
+
+        rows.add(measure("overlapping-day", "unpartitioned", bookings, items, now, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT id FROM bookings_flat WHERE start_date <= ? AND end_date >= ? " +
+                        "AND " + BLOCKING, start, start).size()));
+        rows.add(measure("overlapping-day", "partitioned", bookings, items, now, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT b.id FROM booking_claims c JOIN bookings b ON b.id = c.booking_id " +
+                        "AND b.start_date = lower(c.period) WHERE c.period && tsrange(?, ?, '[]')", start, start).size()));
+
+        // A listing page a year back, read with the keyset cursor of the previous page
+        LocalDateTime yearAgo = now.minusYears(1);
+        rows.add(measure("listing-page", "unpartitioned", bookings, items, yearAgo, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT id FROM bookings_flat WHERE item_id = ? " +
+                        "AND (start_date, id) > (?, ?) ORDER BY start_date, id LIMIT " + PAGE_SIZE,
+                        itemId, start, new UUID(0, 0)).size()));
+        rows.add(measure("listing-page", "partitioned", bookings, items, yearAgo, (itemId, start, end) ->
+                jdbcTemplate.queryForList("SELECT id FROM bookings WHERE item_id = ? AND start_date >= ? " +
+                        "AND (start_date, id) > (?, ?) ORDER BY start_date, id LIMIT " + PAGE_SIZE,
+                        itemId, start, start, new UUID(0, 0)).size()));
+
+        Map<String, Object> sizes = new LinkedHashMap<>();
+        sizes.put("query", "table-sizes");
+        sizes.put("seededFrom", from);
+        sizes.put("partitions", bookingRepository.findMonthlyPartitions().size());
+        sizes.put("bookingClaims", jdbcTemplate.queryForObject("SELECT count(*) FROM booking_claims", Long.class));
+        sizes.put("claimsMegabytes", megabytes("booking_claims"));
+        sizes.put("unpartitionedMegabytes", megabytes("bookings_flat"));
+        rows.add(sizes);
+
+        BenchmarkReport.write("partition-pruning", rows);
+        assertThat(rows.get(0).get("matches")).isEqualTo(rows.get(1).get("matches"));
+        assertThat(rows.get(2).get("matches")).isEqualTo(rows.get(3).get("matches"));
+        assertThat(rows.get(4).get("matches")).isEqualTo(rows.get(5).get("matches"));
+        assertThat(rows.get(6).get("matches")).isEqualTo(rows.get(7).get("matches"));
+    }
+
+    private Map<String, Object> measure(String query, String table, long bookings, List<UUID> items,
+                                        LocalDateTime around, Window window) {
+        Random random = new Random(7);
+        long[] latencies = new long[QUERIES];
+        long matches = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            UUID itemId = items.get(random.nextInt(items.size()));
+            LocalDateTime start = around.plusHours(random.nextInt(24 * 60));
+            LocalDateTime end = start.plusDays(1 + random.nextInt(3));
+            long began = System.nanoTime();
+            matches += window.run(itemId, start, end);
+            latencies[i] = System.nanoTime() - began;
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("query", query);
+        row.put("table", table);
+        row.put("bookings", bookings);
+        row.put("queries", QUERIES);
+        row.put("matches", matches);
+        row.put("p50Micros", BenchmarkReport.percentile(latencies, 50) / 1_000);
+        row.put("p99Micros", BenchmarkReport.percentile(latencies, 99) / 1_000);
+        return row;
+    }
+
+    /**
+     * Creates the monthly partitions and seeds {@code bookings} non-overlapping bookings: booking
+     * {@code k} of an item covers days {@code 3k .. 3k + 2} from {@link #HISTORY_MONTHS} months ago,
+     * completed once it has ended. The unpartitioned copy gets the V1 and V2 indexes.
+     */
+    private LocalDateTime seed(long bookings) {
+        YearMonth first = YearMonth.now().minusMonths(HISTORY_MONTHS);
+        YearMonth last = first.plusMonths(3L * bookings / ITEMS / 30 + 1);
+        List<YearMonth> existing = bookingRepository.findMonthlyPartitions();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!existing.contains(month)) {
+                bookingRepository.createMonthlyPartition(month);
+            }
+        }
+
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "VALUES (gen_random_uuid(), 'bench@example.com', 'Bench', 'User', now(), now())");
+        jdbcTemplate.update("INSERT INTO items (id, name, category, price_per_day, max_duration_days, " +
+                "is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Item ' || g, 'cat-' || (g % 20), 50, 30, true, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g", ITEMS);
+        LocalDateTime from = first.atDay(1).atStartOfDay();
+        jdbcTemplate.update("WITH i AS (SELECT array_agg(id ORDER BY id) AS ids FROM items), " +
+                "u AS (SELECT id FROM users LIMIT 1) " +
+                "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+                "created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.id, i.ids[1 + (g % " + ITEMS + ")], s, s + interval '2 days', 100, " +
+                "CASE WHEN s + interval '2 days' < now() THEN 'COMPLETED' ELSE 'CONFIRMED' END, now(), now() " +
+                "FROM generate_series(0, ? - 1) g, i, u, " +
+                "LATERAL (SELECT ?::timestamp + (g / " + ITEMS + ") * 3 * interval '1 day' AS s) d",
+                bookings, from);
+
+        jdbcTemplate.execute("CREATE TABLE bookings_flat AS SELECT * FROM bookings");
+        jdbcTemplate.execute("ALTER TABLE bookings_flat ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("CREATE INDEX ON bookings_flat (item_id, start_date, id)");
+        jdbcTemplate.execute("CREATE INDEX ON bookings_flat (start_date, end_date)");
+        jdbcTemplate.execute("CREATE INDEX ON bookings_flat (item_id, start_date, end_date) WHERE " + BLOCKING);
+        jdbcTemplate.execute("ANALYZE");
+        return from;
+    }
+
+    private double megabytes(String table) {
+        Long bytes = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(?::regclass)", Long.class, table);
+        return bytes == null ? 0 : bytes / (1024.0 * 1024.0);
+    }
+
+    @FunctionalInterface
+    private interface Window {
+        long run(UUID itemId, LocalDateTime start, LocalDateTime end);
+    }
+}
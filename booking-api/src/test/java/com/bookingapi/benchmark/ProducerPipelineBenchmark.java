@@ -0,0 +1,130 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.service.EventProducerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the client-default producer configuration with the tuned pipeline profile
+ * (linger, larger batches, lz4, idempotence). Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class ProducerPipelineBenchmark {
+
+    private static final int WARMUP_EVENTS = 5_000;
+    private static final int EVENTS = 50_000;
+    private static final String TOPIC = "booking_created_benchmark";
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.4.0"))
+            .withEmbeddedZookeeper();
+
+    @Test
+    void compareProducerProfiles() throws Exception {
+        Map<String, Object> defaults = baseConfig();
+
+        Map<String, Object> tuned = baseConfig();
+        tuned.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        tuned.put(ProducerConfig.BATCH_SIZE_CONFIG, 65536);
+        tuned.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        tuned.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        tuned.put(ProducerConfig.ACKS_CONFIG, "all");
+
+        Map<String, Object> before = run("client-defaults", defaults);
+        Map<String, Object> after = run("tuned", tuned);
+
+        BenchmarkReport.write("producer-pipeline", List.of(before, after));
+        assertThat(after.get("errors")).isEqualTo(0);
+    }
+
+    private Map<String, Object> run(String profile, Map<String, Object> config) throws InterruptedException {
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(config);
+        try {
+            EventProducerService producer = new EventProducerService(
+                    new KafkaTemplate<>(producerFactory), new SimpleMeterRegistry(), 20_000, 60_000);
+
+            publish(producer, WARMUP_EVENTS, new long[WARMUP_EVENTS], new AtomicInteger());
+
+            long[] latencies = new long[EVENTS];
+            AtomicInteger errors = new AtomicInteger();
+            long started = System.nanoTime();
+            publish(producer, EVENTS, latencies, errors);
+            long elapsedNanos = System.nanoTime() - started;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("profile", profile);
+            row.put("events", EVENTS);
+            row.put("eventsPerSecond", Math.round(EVENTS / (elapsedNanos / 1_000_000_000.0)));
+            row.put("p50Micros", BenchmarkReport.percentile(latencies, 50) / 1_000);
+            row.put("p99Micros", BenchmarkReport.percentile(latencies, 99) / 1_000);
+            row.put("errors", errors.get());
+            return row;
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    private void publish(EventProducerService producer, int count, long[] latencies, AtomicInteger errors)
+            throws InterruptedException {
+        CountDownLatch acknowledged = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            BookingCreatedEvent event = sampleEvent();
+            long sentAt = System.nanoTime();
+            producer.send(TOPIC, event.getBookingId().toString(), event).whenComplete((result, ex) -> {
+                latencies[index] = System.nanoTime() - sentAt;
+                if (ex != null) {
+                    errors.incrementAndGet();
+                }
+                acknowledged.countDown();
+            });
+        }
+        assertThat(acknowledged.await(2, TimeUnit.MINUTES)).isTrue();
+    }
+
+    private Map<String, Object> baseConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return config;
+    }
+
+    private BookingCreatedEvent sampleEvent() {
+        return BookingCreatedEvent.builder()
+                .bookingId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .itemName("Benchmark Item")
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(3))
+                .totalPrice(BigDecimal.valueOf(150.00))
+                .status("CONFIRMED")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.entity.ItemChangeListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to bring up the persistence layer (data source, schema handling, entity manager factory)
+ * on a database that holds many unrelated tables, for Hibernate {@code ddl-auto=update} against
+ * Flyway with {@code validate} and with {@code none}. The number of extra tables defaults to 2000
+ * and can be overridden with {@code -Dbenchmark.startup.tables=500}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class StartupTimeBenchmark {
+
+    private static final int RUNS = 5;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @Test
+    void persistenceStartupTimeBySchemaStrategy() throws Exception {
+        int tables = Integer.getInteger("benchmark.startup.tables", 2_000);
+        // Creates the booking schema through the migrations, then pads it out
+        start("none", true).close();
+        seedUnrelatedTables(tables);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(measure("hibernate-update", "update", false, tables));
+        rows.add(measure("flyway-validate", "validate", true, tables));
+        rows.add(measure("flyway-none", "none", true, tables));
+
+        BenchmarkReport.write("startup-time", rows);
+        assertThat(rows).hasSize(3);
+    }
+
+    private Map<String, Object> measure(String strategy, String ddlAuto, boolean flyway, int tables) {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long began = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(ddlAuto, flyway)) {
+                millis[i] = (System.nanoTime() - began) / 1_000_000;
+            }
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("strategy", strategy);
+        row.put("extraTables", tables);
+        row.put("runs", RUNS);
+        row.put("p50Millis", BenchmarkReport.percentile(millis, 50));
+        row.put("maxMillis", BenchmarkReport.percentile(millis, 100));
+        return row;
+    }
+
+    private static ConfigurableApplicationContext start(String ddlAuto, boolean flyway) {
+        return new SpringApplicationBuilder(PersistenceOnly.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--spring.flyway.enabled=" + flyway,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.com.bookingapi=WARN");
+    }
+
+    /**
+     * Adds {@code tables} tables of twelve columns and one secondary index each, standing in for
+     * the rest of a shared database that schema introspection has to read through.
+     */
+    private static void seedUnrelatedTables(int tables) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.execute("DO $$ BEGIN FOR t IN 1.." + tables + " LOOP " +
+                "EXECUTE format('CREATE TABLE filler_%s (id BIGINT PRIMARY KEY, owner_id UUID, name VARCHAR(255), " +
+                "c1 TEXT, c2 TEXT, c3 TEXT, c4 INTEGER, c5 INTEGER, c6 NUMERIC(10, 2), c7 BOOLEAN, " +
+                "created_at TIMESTAMP, updated_at TIMESTAMP)', t); " +
+                "EXECUTE format('CREATE INDEX filler_%s_owner ON filler_%s (owner_id, created_at)', t, t); " +
+                "END LOOP; END $$");
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Booking.class)
+    @Import(ItemChangeListener.class)
+    static class PersistenceOnly {
+    }
+}
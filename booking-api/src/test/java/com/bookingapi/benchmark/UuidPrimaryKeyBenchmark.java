@@ -0,0 +1,107 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.entity.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and primary-key index size of a bookings-shaped table keyed by random
+ * version 4 UUIDs against one keyed by {@link UuidV7Generator} ids. Rows go in through batched
+ * JDBC inserts with {@code shared_buffers} kept small, so that once the index outgrows the cache
+ * random keys pay for page reads and splits that time-ordered keys avoid. Reports throughput over
+ * the whole run and over its last tenth, and the index size, leaf density and fragmentation from
+ * {@code pgstattuple}. Rows default to 2M and can be overridden with
+ * {@code -Dbenchmark.uuid.rows=10000000}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class UuidPrimaryKeyBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench")
+            .withCommand("postgres", "-c", "shared_buffers=32MB");
+
+    @Test
+    void insertThroughputAndIndexSizeV4VersusV7() throws Exception {
+        int rows = Integer.getInteger("benchmark.uuid.rows", 2_000_000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl() + "&reWriteBatchedInserts=true", postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+
+        UuidV7Generator v7 = new UuidV7Generator();
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(run(jdbcTemplate, "v4", UUID::randomUUID, rows));
+        results.add(run(jdbcTemplate, "v7", v7::next, rows));
+        BenchmarkReport.write("uuid-primary-key", results);
+
+        assertThat(results).allSatisfy(row -> assertThat(row.get("rows")).isEqualTo((long) rows));
+    }
+
+    private Map<String, Object> run(JdbcTemplate jdbcTemplate, String version, Supplier<UUID> ids, int rows) {
+        String table = "bookings_" + version;
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, user_id UUID NOT NULL, " +
+                "item_id UUID NOT NULL, start_date TIMESTAMP NOT NULL, end_date TIMESTAMP NOT NULL, " +
+                "total_price NUMERIC(10, 2) NOT NULL, status VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        String insert = "INSERT INTO " + table + " (id, user_id, item_id, start_date, end_date, total_price, " +
+                "status, created_at) VALUES (?, ?, ?, ?, ?, ?, 'CONFIRMED', ?)";
+
+        UUID userId = UUID.randomUUID();
+        UUID itemId = UUID.randomUUID();
+        Timestamp start = Timestamp.valueOf(LocalDateTime.now().plusDays(1));
+        Timestamp end = Timestamp.valueOf(LocalDateTime.now().plusDays(3));
+        BigDecimal price = new BigDecimal("100.00");
+        int batches = rows / BATCH_SIZE;
+        int lastTenthFrom = batches - Math.max(1, batches / 10);
+
+        long began = System.nanoTime();
+        long lastTenthBegan = began;
+        for (int batch = 0; batch < batches; batch++) {
+            if (batch == lastTenthFrom) {
+                lastTenthBegan = System.nanoTime();
+            }
+            List<Object[]> args = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                args.add(new Object[]{ids.get(), userId, itemId, start, end, price,
+                        new Timestamp(System.currentTimeMillis())});
+            }
+            jdbcTemplate.batchUpdate(insert, args);
+        }
+        long ended = System.nanoTime();
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+
+        Map<String, Object> index = jdbcTemplate.queryForMap("SELECT index_size, avg_leaf_density, " +
+                "leaf_fragmentation FROM pgstatindex('" + table + "_pkey')");
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("uuid", version);
+        row.put("rows", jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class));
+        row.put("insertsPerSecond", (long) batches * BATCH_SIZE * 1_000_000_000L / (ended - began));
+        row.put("lastTenthInsertsPerSecond",
+                (long) (batches - lastTenthFrom) * BATCH_SIZE * 1_000_000_000L / (ended - lastTenthBegan));
+        row.put("indexMegabytes", ((Number) index.get("index_size")).longValue() / (1024.0 * 1024.0));
+        row.put("avgLeafDensity", index.get("avg_leaf_density"));
+        row.put("leafFragmentation", index.get("leaf_fragmentation"));
+        return row;
+    }
+}
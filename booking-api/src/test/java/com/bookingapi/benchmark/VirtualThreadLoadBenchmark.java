@@ -0,0 +1,219 @@
+package com.bookingapi.benchmark;
+
+import com.bookingapi.BookingApiApplication;
+import com.bookingapi.TestTokens;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and latency of the running service with platform threads and with virtual threads
+ * ({@code spring.threads.virtual.enabled}), at increasing numbers of concurrent HTTP clients.
+ * Every client loops over database-bound reads: booking lookups by id and availability searches
+ * answered by SQL. Client counts default to 1000, 2500, 5000 and 10000 and can be overridden with
+ * {@code -Dbenchmark.virtual-threads.clients=1000,10000}; each level runs for
+ * {@code -Dbenchmark.virtual-threads.seconds} (default 15). Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class VirtualThreadLoadBenchmark {
+
+    private static final int ITEMS = 10_000;
+    private static final int USERS = 1_000;
+    private static final int BOOKINGS = 100_000;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("benchdb")
+            .withUsername("bench")
+            .withPassword("bench");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.4.0"))
+            .withEmbeddedZookeeper();
+
+    @Test
+    void throughputAndLatencyByThreadModel() throws Exception {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        List<UUID> bookingIds = seed();
+        Duration duration = Duration.ofSeconds(Long.getLong("benchmark.virtual-threads.seconds", 15));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                for (int clients : clientCounts()) {
+                    rows.add(run(virtualThreads, clients, duration, port, bookingIds, meterRegistry));
+                }
+            }
+        }
+
+        BenchmarkReport.write("virtual-threads-load", rows);
+        assertThat(rows).isNotEmpty();
+    }
+
+    private Map<String, Object> run(boolean virtualThreads, int clients, Duration duration, int port,
+                                    List<UUID> bookingIds, MeterRegistry meterRegistry) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        double pinnedBefore = pinned(meterRegistry);
+
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        String authorization = TestTokens.bearer("bench", duration.plus(WARM_UP).plusMinutes(5));
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        // Clients run on virtual threads in both modes, so only the server's thread model varies.
+        // The executor is closed first and waits for every client to pass the deadline.
+        try (HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                clientThreads.submit(() -> {
+                    LongStream.Builder samples = LongStream.builder();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(uri(port, bookingIds, random))
+                                .header("Authorization", authorization)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long began = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (began >= measureFrom) {
+                            samples.add(System.nanoTime() - began);
+                        }
+                    }
+                    latencies.add(samples.build().toArray());
+                });
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).toArray();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("threads", virtualThreads ? "virtual" : "platform");
+        row.put("clients", clients);
+        row.put("requests", all.length);
+        row.put("throughputPerSecond", all.length / Math.max(1, duration.toSeconds()));
+        row.put("errors", errors.get());
+        row.put("p50Millis", BenchmarkReport.percentile(all, 50) / 1_000_000.0);
+        row.put("p99Millis", BenchmarkReport.percentile(all, 99) / 1_000_000.0);
+        row.put("p999Millis", BenchmarkReport.percentile(all, 99.9) / 1_000_000.0);
+        row.put("peakPlatformThreads", threads.getPeakThreadCount());
+        row.put("pinnedEvents", (long) (pinned(meterRegistry) - pinnedBefore));
+        return row;
+    }
+
+    private static URI uri(int port, List<UUID> bookingIds, ThreadLocalRandom random) {
+        if (random.nextBoolean()) {
+            return URI.create("http://localhost:" + port + "/api/bookings/"
+                    + bookingIds.get(random.nextInt(bookingIds.size())));
+        }
+        LocalDate start = LocalDate.now().plusDays(random.nextInt(365));
+        return URI.create("http://localhost:" + port + "/api/items/available?start=" + start.atStartOfDay()
+                + "&end=" + start.plusDays(1 + random.nextInt(7)).atStartOfDay() + "&category=cat-"
+                + random.nextInt(20) + "&limit=20");
+    }
+
+    private static double pinned(MeterRegistry meterRegistry) {
+        Counter counter = meterRegistry.find("booking.virtual_threads.pinned").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BookingApiApplication.class)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.kafka.bootstrap-servers=" + kafka.getBootstrapServers(),
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--" + TestTokens.SECRET_PROPERTY,
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=10000",
+                        // Searches go to SQL rather than the in-memory occupancy index
+                        "--booking.occupancy-index.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.com.bookingapi=WARN");
+    }
+
+    private static List<UUID> seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.update("INSERT INTO users (id, email, first_name, last_name, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'bench' || g || '@example.com', 'Bench', 'User', now(), now() " +
+                "FROM generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("INSERT INTO items (id, name, category, price_per_day, max_duration_days, " +
+                "is_available, location, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'Item ' || g, 'cat-' || (g % 20), 10 + g % 200, 30, true, " +
+                "'loc-' || (g % 50), now(), now() FROM generate_series(1, ?) g", ITEMS);
+        // Booking k of an item covers days 3k .. 3k + 2, so seeded bookings never overlap
+        jdbcTemplate.update("WITH i AS (SELECT array_agg(id) AS ids FROM items), " +
+                "u AS (SELECT array_agg(id) AS ids FROM users) " +
+                "INSERT INTO bookings (id, user_id, item_id, start_date, end_date, total_price, status, " +
+                "created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.ids[1 + (g % " + USERS + ")], i.ids[1 + (g % " + ITEMS + ")], " +
+                "date_trunc('day', now()) + (g / " + ITEMS + ") * 3 * interval '1 day', " +
+                "date_trunc('day', now()) + ((g / " + ITEMS + ") * 3 + 2) * interval '1 day', 100, " +
+                "'CONFIRMED', now(), now() FROM generate_series(0, ? - 1) g, i, u", BOOKINGS);
+        jdbcTemplate.execute("ANALYZE");
+        return jdbcTemplate.queryForList("SELECT id FROM bookings ORDER BY random() LIMIT 5000", UUID.class);
+    }
+
+    private static int[] clientCounts() {
+        String counts = System.getProperty("benchmark.virtual-threads.clients", "1000,2500,5000,10000");
+        return Arrays.stream(counts.split(",")).map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+    }
+}
@@ -0,0 +1,122 @@
+package com.bookingapi.config;
+
+import com.bookingapi.TestTokens;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void decode_ShouldVerifyTokenOnce_AndServeRepeatsFromCache() {
+        // Given
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(300));
+        when(delegate.decode("token")).thenReturn(jwt);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+
+        // When
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        // Then
+        assertThat(first).isSameAs(jwt);
+        assertThat(second).isSameAs(jwt);
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    void decode_ShouldNotCacheRejectedTokens() {
+        // Given
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("Invalid signature"));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+
+        // When & Then
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("forged");
+    }
+
+    @Test
+    void decode_ShouldVerifyAgain_OnceTokenHasExpired() {
+        // Given - still accepted by the delegate within its clock skew
+        when(delegate.decode("expired")).thenReturn(jwt("expired", Instant.now().minusSeconds(10)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+
+        // When
+        decoder.decode("expired");
+        decoder.decode("expired");
+
+        // Then
+        verify(delegate, times(2)).decode("expired");
+    }
+
+    @Test
+    void verifier_ShouldAcceptTokensSignedWithConfiguredSecret() {
+        // Given
+        JwtDecoder verifier = SecurityConfig.verifier(TestTokens.SECRET, "", "");
+        String token = TestTokens.encode(TestTokens.SECRET, "user-1", Instant.now(), Duration.ofMinutes(5));
+
+        // When
+        Jwt jwt = verifier.decode(token);
+
+        // Then
+        assertThat(jwt.getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void verifier_ShouldRejectTokensSignedWithAnotherKey() {
+        // Given
+        JwtDecoder verifier = SecurityConfig.verifier(TestTokens.SECRET, "", "");
+        String otherSecret = Base64.getEncoder().encodeToString("another-booking-api-signing-key-32b".getBytes());
+        String token = TestTokens.encode(otherSecret, "user-1", Instant.now(), Duration.ofMinutes(5));
+
+        // When & Then
+        assertThatThrownBy(() -> verifier.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verifier_ShouldRejectExpiredTokens() {
+        // Given - beyond the default 60 second clock skew
+        JwtDecoder verifier = SecurityConfig.verifier(TestTokens.SECRET, "", "");
+        String token = TestTokens.encode(TestTokens.SECRET, "user-1", Instant.now().minus(Duration.ofMinutes(10)),
+                Duration.ofMinutes(5));
+
+        // When & Then
+        assertThatThrownBy(() -> verifier.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verifier_ShouldRequireAKey() {
+        assertThatThrownBy(() -> SecurityConfig.verifier("", "", ""))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("user-1")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
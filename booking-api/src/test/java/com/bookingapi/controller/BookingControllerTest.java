@@ -1,29 +1,50 @@
 package com.bookingapi.controller;
 
+import com.bookingapi.config.SecurityConfig;
+import com.bookingapi.dto.BatchBookingResult;
+import com.bookingapi.dto.BookingPage;
+import com.bookingapi.dto.BookingRequest;
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
 import com.bookingapi.entity.Item;
 import com.bookingapi.entity.User;
+import com.bookingapi.service.BookingHoldService;
 import com.bookingapi.service.BookingService;
+import com.bookingapi.service.BookingWriteShards;
+import com.bookingapi.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import({BookingWriteShards.class, SecurityConfig.class})
 class BookingControllerTest {
 
     @Autowired
@@ -35,6 +56,15 @@ class BookingControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BookingHoldService bookingHoldService;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
     private UUID userId;
     private UUID itemId;
     private UUID bookingId;
@@ -83,6 +113,7 @@ class BookingControllerTest {
 
         // When & Then
         mockMvc.perform(post("/api/bookings")
+                .with(jwt())
                 .param("userId", userId.toString())
                 .param("itemId", itemId.toString())
                 .param("startDate", "2024-12-01T10:00:00")
@@ -100,6 +131,7 @@ class BookingControllerTest {
     void createBooking_ShouldReturnBadRequest_WhenValidationFails() throws Exception {
         // When & Then
         mockMvc.perform(post("/api/bookings")
+                .with(jwt())
                 .param("userId", "invalid-uuid")
                 .param("itemId", itemId.toString())
                 .param("startDate", "2024-12-01T10:00:00")
@@ -111,12 +143,13 @@ class BookingControllerTest {
     @Test
     void getBooking_ShouldReturnBooking_WhenExists() throws Exception {
         // Given
-        when(bookingService.getBooking(bookingId)).thenReturn(testBooking);
+        when(bookingService.getBookingResponse(bookingId)).thenReturn(BookingResponse.from(testBooking));
 
         // When & Then
-        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+        mockMvc.perform(get("/api/bookings/{id}", bookingId).with(jwt()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(bookingId.toString()))
+                .andExpect(jsonPath("$.user.id").value(userId.toString()))
                 .andExpect(jsonPath("$.status").value("CONFIRMED"));
     }
 
@@ -124,18 +157,18 @@ class BookingControllerTest {
     void getBooking_ShouldReturnNotFound_WhenNotExists() throws Exception {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(bookingService.getBooking(nonExistentId))
+        when(bookingService.getBookingResponse(nonExistentId))
                 .thenThrow(new IllegalArgumentException("Booking not found"));
 
         // When & Then
-        mockMvc.perform(get("/api/bookings/{id}", nonExistentId))
+        mockMvc.perform(get("/api/bookings/{id}", nonExistentId).with(jwt()))
                 .andExpect(status().isNotFound());
     }
 
     @Test
     void getBooking_ShouldReturnBadRequest_WhenInvalidId() throws Exception {
         // When & Then
-        mockMvc.perform(get("/api/bookings/{id}", "invalid-uuid"))
+        mockMvc.perform(get("/api/bookings/{id}", "invalid-uuid").with(jwt()))
                 .andExpect(status().isBadRequest());
     }
 
@@ -147,6 +180,7 @@ class BookingControllerTest {
 
         // When & Then
         mockMvc.perform(post("/api/bookings")
+                .with(jwt())
                 .param("userId", userId.toString())
                 .param("itemId", itemId.toString())
                 .param("startDate", "2024-12-01T10:00:00")
@@ -155,4 +189,168 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("User not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void createBookings_ShouldReturnPerEntryResults() throws Exception {
+        // Given
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(userId, itemId, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), null),
+                new BookingRequest(userId, itemId, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), null));
+        when(bookingService.createBookings(any()))
+                .thenReturn(List.of(
+                        BatchBookingResult.created(0, bookingId),
+                        BatchBookingResult.failed(1, "Item is already booked for these dates")));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].bookingId").value(bookingId.toString()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].message").value("Item is already booked for these dates"));
+    }
+
+    @Test
+    @WithMockUser
+    void createBookings_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void listBookings_ShouldReturnPageWithNextCursor() throws Exception {
+        // Given
+        when(bookingService.listBookings(eq(userId), eq(null), eq(Booking.BookingStatus.CONFIRMED),
+                any(), any(), eq(null), eq(20)))
+                .thenReturn(new BookingPage(List.of(BookingResponse.from(testBooking)), "next"));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings")
+                .param("userId", userId.toString())
+                .param("status", "CONFIRMED")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(bookingId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser
+    void listBookings_ShouldRejectOversizedPage() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/bookings")
+                .param("userId", userId.toString())
+                .param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createHold_ShouldReturnPendingBookingWithExpiry() throws Exception {
+        // Given
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+        testBooking.setStatus(Booking.BookingStatus.PENDING);
+        testBooking.setHoldExpiresAt(expiresAt);
+        when(bookingHoldService.placeHold(eq(userId), eq(itemId), any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(""), eq(Duration.ofSeconds(300))))
+                .thenReturn(testBooking);
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/holds")
+                .with(jwt())
+                .param("userId", userId.toString())
+                .param("itemId", itemId.toString())
+                .param("startDate", "2024-12-01T10:00:00")
+                .param("endDate", "2024-12-03T10:00:00")
+                .param("ttlSeconds", "300"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.booking.id").value(bookingId.toString()))
+                .andExpect(jsonPath("$.booking.status").value("PENDING"))
+                .andExpect(jsonPath("$.expiresAt").exists());
+    }
+
+    @Test
+    void createHold_ShouldReturnBadRequest_WhenTtlIsTooLong() throws Exception {
+        // Given
+        when(bookingHoldService.placeHold(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Hold TTL must be positive and at most 1800 seconds"));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/holds")
+                .with(jwt())
+                .param("userId", userId.toString())
+                .param("itemId", itemId.toString())
+                .param("startDate", "2024-12-01T10:00:00")
+                .param("endDate", "2024-12-03T10:00:00")
+                .param("ttlSeconds", "86400"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void confirmHold_ShouldReturnConflict_WhenHoldHasExpired() throws Exception {
+        // Given
+        when(bookingHoldService.confirmHold(bookingId, null)).thenThrow(new IllegalStateException("Hold has expired"));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/holds/{id}/confirm", bookingId).with(jwt()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Hold has expired"));
+    }
+
+    @Test
+    void releaseHold_ShouldReturnNotFound_WhenHoldDoesNotExist() throws Exception {
+        // Given
+        when(bookingHoldService.releaseHold(bookingId)).thenThrow(new IllegalArgumentException("Hold not found"));
+
+        // When & Then
+        mockMvc.perform(delete("/api/bookings/holds/{id}", bookingId).with(jwt()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBooking_ShouldReturnUnauthorized_WithoutBearerToken() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"));
+    }
+
+    @Test
+    void getBooking_ShouldReturnUnauthorized_WhenTokenIsRejected() throws Exception {
+        // Given
+        when(jwtDecoder.decode("forged")).thenThrow(new BadJwtException("Invalid signature"));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId)
+                .header("Authorization", "Bearer forged"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void getBooking_ShouldAuthenticateBearerToken_WithoutCreatingSession() throws Exception {
+        // Given
+        when(jwtDecoder.decode("valid")).thenReturn(Jwt.withTokenValue("valid")
+                .header("alg", "HS256")
+                .subject(userId.toString())
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build());
+        when(bookingService.getBookingResponse(bookingId)).thenReturn(BookingResponse.from(testBooking));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/bookings/{id}", bookingId)
+                        .header("Authorization", "Bearer valid"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Set-Cookie"))
+                .andReturn();
+        assertThat(result.getRequest().getSession(false)).isNull();
+    }
+}
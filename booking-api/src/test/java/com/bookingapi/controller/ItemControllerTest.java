@@ -0,0 +1,67 @@
+package com.bookingapi.controller;
+
+import com.bookingapi.dto.ItemPage;
+import com.bookingapi.entity.Item;
+import com.bookingapi.service.ItemAvailabilityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ItemController.class)
+class ItemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ItemAvailabilityService itemAvailabilityService;
+
+    @Test
+    @WithMockUser
+    void findAvailableItems_ShouldReturnPage() throws Exception {
+        // Given
+        UUID itemId = UUID.randomUUID();
+        Item item = Item.builder().id(itemId).name("Camera").pricePerDay(new BigDecimal("40.00")).build();
+        when(itemAvailabilityService.findAvailable(any(), any(), eq("Electronics"), eq(null),
+                eq(new BigDecimal("50")), eq(null), eq(50)))
+                .thenReturn(new ItemPage(List.of(item), itemId.toString()));
+
+        // When & Then
+        mockMvc.perform(get("/api/items/available")
+                .param("start", "2030-01-01T10:00:00")
+                .param("end", "2030-01-03T10:00:00")
+                .param("category", "Electronics")
+                .param("maxPrice", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(itemId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value(itemId.toString()));
+    }
+
+    @Test
+    @WithMockUser
+    void findAvailableItems_ShouldReturnBadRequest_WhenRangeInvalid() throws Exception {
+        // Given
+        when(itemAvailabilityService.findAvailable(any(), any(), any(), any(), any(), any(), eq(50)))
+                .thenThrow(new IllegalArgumentException("Invalid date range"));
+
+        // When & Then
+        mockMvc.perform(get("/api/items/available")
+                .param("start", "2030-01-03T10:00:00")
+                .param("end", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid date range"));
+    }
+}
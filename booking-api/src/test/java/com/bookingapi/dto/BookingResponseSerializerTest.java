@@ -0,0 +1,60 @@
+package com.bookingapi.dto;
+
+import com.bookingapi.entity.Booking;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void serialize_ShouldWriteAllFieldsInApiShape() throws Exception {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID itemId = UUID.randomUUID();
+        BookingResponse response = new BookingResponse(bookingId, userId, itemId,
+                LocalDateTime.of(2025, 3, 1, 10, 0), LocalDateTime.of(2025, 3, 3, 10, 0, 30),
+                new BigDecimal("200.00"), Booking.BookingStatus.CONFIRMED, "Window seat",
+                LocalDateTime.of(2025, 2, 1, 9, 15, 0, 123_000_000), null);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(response));
+
+        // Then
+        assertThat(json.get("id").asText()).isEqualTo(bookingId.toString());
+        assertThat(json.get("user").get("id").asText()).isEqualTo(userId.toString());
+        assertThat(json.get("item").get("id").asText()).isEqualTo(itemId.toString());
+        assertThat(json.get("startDate").asText()).isEqualTo("2025-03-01T10:00:00");
+        assertThat(json.get("endDate").asText()).isEqualTo("2025-03-03T10:00:30");
+        assertThat(json.get("totalPrice").decimalValue()).isEqualByComparingTo("200.00");
+        assertThat(json.get("status").asText()).isEqualTo("CONFIRMED");
+        assertThat(json.get("notes").asText()).isEqualTo("Window seat");
+        assertThat(json.get("createdAt").asText()).isEqualTo("2025-02-01T09:15:00.123");
+        assertThat(json.get("updatedAt").isNull()).isTrue();
+    }
+
+    @Test
+    void from_ShouldNotRequireLoadedAssociations() throws Exception {
+        // Given
+        Booking booking = Booking.builder()
+                .id(UUID.randomUUID())
+                .status(Booking.BookingStatus.PENDING)
+                .build();
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(BookingResponse.from(booking)));
+
+        // Then
+        assertThat(json.get("user").isNull()).isTrue();
+        assertThat(json.get("status").asText()).isEqualTo("PENDING");
+    }
+}
@@ -0,0 +1,126 @@
+package com.bookingapi.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void next_ShouldSetVersionVariantAndTimestamp() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        UUID id = generator.next();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_ShouldIncrease_WithinTheSameMillisecond() {
+        // Given - more ids than the 12-bit counter holds
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.next());
+        }
+
+        // Then
+        assertStrictlyIncreasing(ids);
+    }
+
+    @Test
+    void next_ShouldDrawFreshRandomBits_AcrossBufferRefills() {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        // When
+        Set<Long> randomBits = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            randomBits.add(generator.next().getLeastSignificantBits());
+        }
+
+        // Then
+        assertThat(randomBits).hasSize(1_000);
+    }
+
+    @Test
+    void next_ShouldIncrease_WhenClockStepsBack() {
+        // Given
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        // When
+        UUID before = generator.next();
+        clock.set(NOW - 5_000);
+        UUID after = generator.next();
+
+        // Then
+        assertStrictlyIncreasing(List.of(before, after));
+        assertThat(after.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    void next_ShouldNeverRepeat_AcrossThreads() throws Exception {
+        // Given
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 50_000;
+        Callable<List<UUID>> task = () -> {
+            List<UUID> ids = new ArrayList<>(perThread);
+            for (int i = 0; i < perThread; i++) {
+                ids.add(generator.next());
+            }
+            return ids;
+        };
+
+        // When
+        List<List<UUID>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<List<UUID>> future : futures) {
+                results.add(future.get());
+            }
+        }
+
+        // Then - unique overall, and each thread sees its ids in order
+        Set<Long> timestampsAndCounters = new HashSet<>();
+        for (List<UUID> ids : results) {
+            assertStrictlyIncreasing(ids);
+            ids.forEach(id -> timestampsAndCounters.add(id.getMostSignificantBits()));
+        }
+        assertThat(timestampsAndCounters).hasSize(threads * perThread);
+    }
+
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            // Postgres compares uuid values as unsigned bytes
+            assertThat(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                    ids.get(i).getMostSignificantBits()))
+                    .as("id %d follows id %d", i, i - 1)
+                    .isNegative();
+        }
+    }
+}
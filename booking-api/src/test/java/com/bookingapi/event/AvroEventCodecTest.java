@@ -0,0 +1,163 @@
+package com.bookingapi.event;
+
+import org.apache.avro.Schema;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AvroEventCodecTest {
+
+    private LocalSchemaRegistry registry;
+    private AvroEventCodec codec;
+    private BookingCreatedEvent bookingCreated;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LocalSchemaRegistry();
+        registry.registerAll("classpath:avro/*.avsc");
+        codec = new AvroEventCodec(registry);
+
+        LocalDateTime createdAt = LocalDateTime.of(2026, 5, 1, 9, 30, 15, 123_456_000);
+        bookingCreated = BookingCreatedEvent.builder()
+                .bookingId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .itemName("Kayak")
+                .startDate(createdAt.plusDays(7))
+                .endDate(createdAt.plusDays(11))
+                .totalPrice(new BigDecimal("227.50"))
+                .status("CONFIRMED")
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Test
+    void encode_ShouldRoundTripBookingCreatedEvent() {
+        // When
+        byte[] bytes = codec.encode(bookingCreated);
+
+        // Then
+        assertThat(AvroEventCodec.isBinary(bytes)).isTrue();
+        assertThat(codec.decode(bytes)).isEqualTo(bookingCreated);
+    }
+
+    @Test
+    void encode_ShouldRoundTripUserRegisteredEvent_WithMissingFields() {
+        // Given
+        UserRegisteredEvent event = UserRegisteredEvent.builder()
+                .userId(UUID.randomUUID())
+                .email("jane@example.com")
+                .registeredAt(LocalDateTime.of(2026, 5, 1, 9, 30))
+                .build();
+
+        // When
+        Object decoded = codec.decode(codec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void encode_ShouldBeSmallerThanJson() {
+        // Given
+        JsonSerializer<Object> json = new JsonSerializer<>();
+
+        // When
+        byte[] avroBytes = codec.encode(bookingCreated);
+        byte[] jsonBytes = json.serialize("booking_created", bookingCreated);
+
+        // Then
+        assertThat(avroBytes.length).isLessThan(jsonBytes.length / 2);
+    }
+
+    @Test
+    void encode_ShouldRejectPriceWithMoreThanTwoDecimals() {
+        // Given
+        bookingCreated.setTotalPrice(new BigDecimal("10.005"));
+
+        // When & Then
+        assertThatThrownBy(() -> codec.encode(bookingCreated)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void decode_ShouldReadRecordsWrittenWithEarlierVersion() {
+        // Given: the reader already has version 2, the writer still uses version 1
+        byte[] writtenWithV1 = codec.encode(bookingCreated);
+        Schema v1 = registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT);
+        LocalSchemaRegistry readerRegistry = new LocalSchemaRegistry();
+        readerRegistry.register(AvroEventCodec.BOOKING_CREATED_SUBJECT, v1);
+        readerRegistry.register(AvroEventCodec.BOOKING_CREATED_SUBJECT, LocalSchemaRegistryTest.withField(v1,
+                new Schema.Field("currency",
+                        Schema.createUnion(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.STRING)),
+                        null, Schema.Field.NULL_DEFAULT_VALUE)));
+        readerRegistry.register(AvroEventCodec.USER_REGISTERED_SUBJECT,
+                registry.latest(AvroEventCodec.USER_REGISTERED_SUBJECT));
+
+        // When
+        Object decoded = new AvroEventCodec(readerRegistry).decode(writtenWithV1);
+
+        // Then
+        assertThat(decoded).isEqualTo(bookingCreated);
+    }
+
+    @Test
+    void decode_ShouldRejectUnknownWriterSchema() {
+        // Given
+        byte[] bytes = codec.encode(bookingCreated);
+        bytes[2] ^= 0x7f;
+
+        // When & Then
+        assertThatThrownBy(() -> codec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown writer schema fingerprint");
+    }
+
+    @Test
+    void deserializer_ShouldReadAvroAndJsonRecordsFromSameTopic() {
+        // Given
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        AvroEventSerializer serializer = new AvroEventSerializer(codec, json);
+        AvroEventDeserializer deserializer = new AvroEventDeserializer(codec, new JsonDeserializer<>());
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+
+        RecordHeaders avroHeaders = new RecordHeaders();
+        byte[] avroRecord = serializer.serialize("booking_created", avroHeaders, bookingCreated);
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] jsonRecord = json.serialize("booking_created", jsonHeaders, bookingCreated);
+
+        // When
+        Object fromAvro = deserializer.deserialize("booking_created", avroHeaders, avroRecord);
+        Object fromJson = deserializer.deserialize("booking_created", jsonHeaders, jsonRecord);
+
+        // Then
+        assertThat(avroHeaders.toArray()).isEmpty();
+        assertThat(fromAvro).isEqualTo(bookingCreated);
+        assertThat(fromJson).isEqualTo(bookingCreated);
+    }
+
+    @Test
+    void serializer_ShouldFallBackToJson_ForEventsWithoutSchema() {
+        // Given
+        AvroEventSerializer serializer = new AvroEventSerializer(codec, new JsonSerializer<>());
+        ItemChangedEvent event = ItemChangedEvent.builder()
+                .itemId(UUID.randomUUID())
+                .changeType(ItemChangedEvent.ChangeType.UPDATED)
+                .build();
+
+        // When
+        byte[] bytes = serializer.serialize("item_changed", new RecordHeaders(), event);
+
+        // Then
+        assertThat(AvroEventCodec.isBinary(bytes)).isFalse();
+        assertThat(new String(bytes)).contains("\"changeType\":\"UPDATED\"");
+    }
+}
@@ -0,0 +1,82 @@
+package com.bookingapi.event;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalSchemaRegistryTest {
+
+    private LocalSchemaRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LocalSchemaRegistry();
+        registry.registerAll("classpath:avro/*.avsc");
+    }
+
+    @Test
+    void registerAll_ShouldRegisterBundledSchemasAsVersionOne() {
+        // When
+        Schema bookingCreated = registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT);
+        Schema userRegistered = registry.latest(AvroEventCodec.USER_REGISTERED_SUBJECT);
+
+        // Then
+        assertThat(bookingCreated.getFullName()).isEqualTo("com.bookingapi.event.BookingCreatedEvent");
+        assertThat(userRegistered.getFullName()).isEqualTo("com.bookingapi.event.UserRegisteredEvent");
+        assertThat(registry.findByFingerprint(SchemaNormalization.parsingFingerprint64(bookingCreated)))
+                .isSameAs(bookingCreated);
+    }
+
+    @Test
+    void register_ShouldAddCompatibleVersion_AndKeepEarlierOnesReadable() {
+        // Given
+        Schema v1 = registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT);
+        Schema v2 = withField(v1, new Schema.Field("currency",
+                Schema.createUnion(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.STRING)),
+                null, Schema.Field.NULL_DEFAULT_VALUE));
+
+        // When
+        int version = registry.register(AvroEventCodec.BOOKING_CREATED_SUBJECT, v2);
+
+        // Then
+        assertThat(version).isEqualTo(2);
+        assertThat(registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT)).isSameAs(v2);
+        assertThat(registry.findByFingerprint(SchemaNormalization.parsingFingerprint64(v1))).isSameAs(v1);
+        assertThat(registry.register(AvroEventCodec.BOOKING_CREATED_SUBJECT, v1)).isEqualTo(1);
+    }
+
+    @Test
+    void register_ShouldRejectIncompatibleVersion() {
+        // Given: a required field without a default cannot be read from version 1 records
+        Schema v1 = registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT);
+        Schema v2 = withField(v1, new Schema.Field("currency", Schema.create(Schema.Type.STRING)));
+
+        // When & Then
+        assertThatThrownBy(() -> registry.register(AvroEventCodec.BOOKING_CREATED_SUBJECT, v2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not compatible with version 1");
+        assertThat(registry.latest(AvroEventCodec.BOOKING_CREATED_SUBJECT)).isSameAs(v1);
+    }
+
+    @Test
+    void latest_ShouldRejectUnknownSubject() {
+        assertThatThrownBy(() -> registry.latest("payment_processed-value"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static Schema withField(Schema schema, Schema.Field extra) {
+        List<Schema.Field> fields = new ArrayList<>();
+        for (Schema.Field field : schema.getFields()) {
+            fields.add(new Schema.Field(field, field.schema()));
+        }
+        fields.add(extra);
+        return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), false, fields);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookingapi.repository;
 
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
 import com.bookingapi.entity.Item;
 import com.bookingapi.entity.User;
@@ -134,6 +135,70 @@ class BookingRepositoryIntegrationTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void findResponseById_ShouldProjectBookingColumns() {
+        // When
+        Optional<BookingResponse> found = bookingRepository.findResponseById(testBooking.getId());
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(found.get().id()).isEqualTo(testBooking.getId());
+        assertThat(found.get().userId()).isEqualTo(testUser.getId());
+        assertThat(found.get().itemId()).isEqualTo(testItem.getId());
+        assertThat(found.get().status()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void findPage_ShouldWalkUserBookingsByKeyset() {
+        // Given
+        for (int day = 5; day < 10; day++) {
+            bookingRepository.save(Booking.builder()
+                    .user(testUser)
+                    .item(testItem)
+                    .startDate(LocalDateTime.now().plusDays(day))
+                    .endDate(LocalDateTime.now().plusDays(day + 1))
+                    .totalPrice(BigDecimal.valueOf(50.00))
+                    .status(Booking.BookingStatus.CONFIRMED)
+                    .build());
+        }
+        bookingRepository.flush();
+
+        // When
+        List<BookingResponse> first = bookingRepository.findPage(
+                new BookingListQuery(testUser.getId(), null, null, null, null, null, null, 4));
+        BookingResponse last = first.get(first.size() - 1);
+        List<BookingResponse> second = bookingRepository.findPage(
+                new BookingListQuery(testUser.getId(), null, null, null, null, last.startDate(), last.id(), 4));
+
+        // Then
+        assertThat(first).hasSize(4);
+        assertThat(second).hasSize(2);
+        assertThat(second).noneMatch(first::contains);
+        assertThat(second.get(0).startDate()).isAfterOrEqualTo(last.startDate());
+    }
+
+    @Test
+    void findAvailablePage_ShouldExcludeItemsWithActiveOverlappingBookings() {
+        // Given
+        Item freeItem = itemRepository.save(Item.builder()
+                .name("Free Item")
+                .pricePerDay(BigDecimal.valueOf(20.00))
+                .isAvailable(true)
+                .location("Test Location")
+                .build());
+        itemRepository.flush();
+
+        // When
+        List<Item> available = itemRepository.findAvailablePage(new AvailableItemQuery(
+                LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(4),
+                null, "Test Location", null, null, 10));
+
+        // Then
+        assertThat(available).extracting(Item::getId)
+                .contains(freeItem.getId())
+                .doesNotContain(testItem.getId());
+    }
+
     @Test
     void findAll_ShouldReturnAllBookings() {
         // When
@@ -0,0 +1,165 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityIndex index;
+    private UUID itemId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex(bookingRepository, true, false);
+        itemId = UUID.randomUUID();
+        base = LocalDateTime.now().plusDays(10).withNano(0);
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(List.of());
+        index.load();
+    }
+
+    @Test
+    void hasConflict_ShouldDetectOverlappingRanges() {
+        // Given
+        index.add(UUID.randomUUID(), itemId, base, base.plusDays(3));
+
+        // When & Then
+        assertThat(index.hasConflict(itemId, base.plusDays(1), base.plusDays(2))).isTrue();
+        assertThat(index.hasConflict(itemId, base.minusDays(2), base)).isTrue();
+        assertThat(index.hasConflict(itemId, base.plusDays(3), base.plusDays(5))).isTrue();
+        assertThat(index.hasConflict(itemId, base.minusDays(5), base.plusDays(10))).isTrue();
+    }
+
+    @Test
+    void hasConflict_ShouldIgnoreDisjointRangesAndOtherItems() {
+        // Given
+        index.add(UUID.randomUUID(), itemId, base, base.plusDays(3));
+
+        // When & Then
+        assertThat(index.hasConflict(itemId, base.minusDays(3), base.minusSeconds(1))).isFalse();
+        assertThat(index.hasConflict(itemId, base.plusDays(3).plusSeconds(1), base.plusDays(4))).isFalse();
+        assertThat(index.hasConflict(UUID.randomUUID(), base, base.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void hasConflict_ShouldFindLongBookingStartingWellBeforeRange() {
+        // Given
+        index.add(UUID.randomUUID(), itemId, base, base.plusDays(30));
+        index.add(UUID.randomUUID(), itemId, base.plusDays(40), base.plusDays(41));
+
+        // When & Then
+        assertThat(index.hasConflict(itemId, base.plusDays(20), base.plusDays(21))).isTrue();
+        assertThat(index.hasConflict(itemId, base.plusDays(35), base.plusDays(36))).isFalse();
+    }
+
+    @Test
+    void remove_ShouldFreeTheRange() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        index.add(bookingId, itemId, base, base.plusDays(3));
+
+        // When
+        index.remove(bookingId);
+
+        // Then
+        assertThat(index.hasConflict(itemId, base, base.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void load_ShouldIndexActiveBookingsFromRepository() {
+        // Given
+        BookingSlot slot = mock(BookingSlot.class);
+        when(slot.getId()).thenReturn(UUID.randomUUID());
+        when(slot.getItemId()).thenReturn(itemId);
+        when(slot.getStartDate()).thenReturn(base);
+        when(slot.getEndDate()).thenReturn(base.plusDays(2));
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(List.of(slot));
+        BookingAvailabilityIndex loadedIndex = new BookingAvailabilityIndex(bookingRepository, true, false);
+
+        // When
+        loadedIndex.load();
+
+        // Then
+        assertThat(loadedIndex.hasConflict(itemId, base.plusDays(1), base.plusDays(4))).isTrue();
+    }
+
+    @Test
+    void reload_ShouldDropBookingsNoLongerActiveInTheDatabase() {
+        // Given
+        index.add(UUID.randomUUID(), itemId, base, base.plusDays(3));
+
+        // When
+        index.reload();
+
+        // Then
+        assertThat(index.hasConflict(itemId, base, base.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void reload_ShouldReplayChangesMadeWhileItRuns() {
+        // Given
+        UUID cancelledId = UUID.randomUUID();
+        UUID bookedId = UUID.randomUUID();
+        BookingSlot slot = mock(BookingSlot.class);
+        when(slot.getId()).thenReturn(cancelledId);
+        when(slot.getItemId()).thenReturn(itemId);
+        when(slot.getStartDate()).thenReturn(base);
+        when(slot.getEndDate()).thenReturn(base.plusDays(2));
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            // Committed after the read started: one cancelled, one booked
+            index.remove(cancelledId);
+            index.add(bookedId, itemId, base.plusDays(10), base.plusDays(12));
+            return List.of(slot);
+        });
+
+        // When
+        index.reload();
+
+        // Then
+        assertThat(index.hasConflict(itemId, base, base.plusDays(2))).isFalse();
+        assertThat(index.hasConflict(itemId, base.plusDays(11), base.plusDays(11))).isTrue();
+    }
+
+    @Test
+    void hasConflict_ShouldReturnFalse_WhenDisabled() {
+        // Given
+        BookingAvailabilityIndex disabled = new BookingAvailabilityIndex(bookingRepository, false, false);
+        disabled.load();
+        disabled.add(UUID.randomUUID(), itemId, base, base.plusDays(3));
+
+        // When & Then
+        assertThat(disabled.hasConflict(itemId, base, base.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void recordVerification_ShouldCountMismatches_WhenVerifying() {
+        // Given
+        BookingAvailabilityIndex verifying = new BookingAvailabilityIndex(bookingRepository, true, true);
+        verifying.load();
+
+        // When
+        verifying.recordVerification(itemId, base, base.plusDays(1), false, true);
+        verifying.recordVerification(itemId, base, base.plusDays(1), true, true);
+
+        // Then
+        assertThat(verifying.isVerifying()).isTrue();
+        assertThat(verifying.getMismatchCount()).isEqualTo(1);
+    }
+}
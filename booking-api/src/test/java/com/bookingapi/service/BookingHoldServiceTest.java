@@ -0,0 +1,208 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.PendingHold;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHoldServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingHoldService holdService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID itemId = UUID.randomUUID();
+    private final LocalDateTime startDate = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime endDate = LocalDateTime.now().plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        holdService = service(2);
+    }
+
+    @Test
+    void placeHold_ShouldScheduleExpiry_AndReleaseItOnceDue() {
+        // Given
+        stubCreateHold();
+        when(bookingService.releaseExpiredHolds(anyList())).thenReturn(1);
+
+        // When
+        Booking hold = holdService.placeHold(userId, itemId, startDate, endDate, "", Duration.ofSeconds(30));
+        long deadline = millis(hold.getHoldExpiresAt());
+        holdService.expire(deadline - 1_000);
+
+        // Then
+        verify(bookingService, never()).releaseExpiredHolds(anyList());
+        holdService.expire(deadline + 100);
+        verify(bookingService).releaseExpiredHolds(
+                List.of(new PendingHold(hold.getId(), startDate, hold.getHoldExpiresAt())));
+        assertThat(meterRegistry.counter("booking.holds.placed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("booking.holds.expired").count()).isEqualTo(1);
+        assertThat(holdService.scheduled()).isZero();
+    }
+
+    @Test
+    void start_ShouldReleaseDueHolds_OnTheWheelThread() {
+        // Given
+        stubCreateHold();
+        List<String> releasingThreads = new CopyOnWriteArrayList<>();
+        when(bookingService.releaseExpiredHolds(anyList())).thenAnswer(invocation -> {
+            releasingThreads.add(Thread.currentThread().getName());
+            return 1;
+        });
+        holdService.placeHold(userId, itemId, startDate, endDate, "", Duration.ofMillis(200));
+
+        // When
+        holdService.start();
+
+        // Then
+        try {
+            verify(bookingService, timeout(5_000)).releaseExpiredHolds(anyList());
+            assertThat(releasingThreads).containsExactly("booking-hold-wheel");
+        } finally {
+            holdService.stop();
+        }
+    }
+
+    @Test
+    void placeHold_ShouldUseDefaultTtl_WhenNoneGiven() {
+        // Given
+        stubCreateHold();
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        Booking hold = holdService.placeHold(userId, itemId, startDate, endDate, "", null);
+
+        // Then
+        assertThat(hold.getHoldExpiresAt()).isBetween(before.plusMinutes(10), LocalDateTime.now().plusMinutes(10));
+    }
+
+    @Test
+    void placeHold_ShouldRejectTtlAboveMaximum() {
+        assertThatThrownBy(() -> holdService.placeHold(userId, itemId, startDate, endDate, "", Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(bookingService);
+        assertThat(holdService.scheduled()).isZero();
+    }
+
+    @Test
+    void expire_ShouldReleaseDueHoldsInBatches() {
+        // Given - five holds loaded at startup, all overdue
+        List<PendingHold> holds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            holds.add(new PendingHold(UUID.randomUUID(), startDate, LocalDateTime.now().minusSeconds(10)));
+        }
+        when(bookingRepository.findPendingHolds(any(LocalDateTime.class))).thenReturn(holds);
+        when(bookingService.releaseExpiredHolds(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+        holdService.load();
+
+        // When
+        holdService.expire(System.currentTimeMillis());
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PendingHold>> batches = ArgumentCaptor.forClass(List.class);
+        verify(bookingService, times(3)).releaseExpiredHolds(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(meterRegistry.counter("booking.holds.expired").count()).isEqualTo(5);
+    }
+
+    @Test
+    void expire_ShouldRescheduleBatch_WhenReleaseFails() {
+        // Given
+        PendingHold hold = new PendingHold(UUID.randomUUID(), startDate, LocalDateTime.now().minusSeconds(1));
+        when(bookingRepository.findPendingHolds(any(LocalDateTime.class))).thenReturn(List.of(hold));
+        when(bookingService.releaseExpiredHolds(anyList()))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(1);
+        holdService.load();
+        long now = System.currentTimeMillis();
+
+        // When
+        holdService.expire(now);
+
+        // Then
+        assertThat(meterRegistry.counter("booking.holds.failures").count()).isEqualTo(1);
+        assertThat(holdService.scheduled()).isEqualTo(1);
+        holdService.expire(now + 10_000);
+        verify(bookingService, times(2)).releaseExpiredHolds(List.of(hold));
+        assertThat(holdService.scheduled()).isZero();
+    }
+
+    @Test
+    void sweep_ShouldReleaseOverdueHoldsLeftByOtherInstances() {
+        // Given
+        PendingHold orphan = new PendingHold(UUID.randomUUID(), startDate, LocalDateTime.now().minusMinutes(5));
+        when(bookingRepository.findPendingHolds(any(LocalDateTime.class))).thenReturn(List.of(orphan));
+        when(bookingService.releaseExpiredHolds(List.of(orphan))).thenReturn(1);
+
+        // When
+        holdService.sweep();
+
+        // Then
+        verify(bookingService).releaseExpiredHolds(List.of(orphan));
+        assertThat(meterRegistry.counter("booking.holds.expired").count()).isEqualTo(1);
+    }
+
+    @Test
+    void confirmHold_ShouldCountConfirmation() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        when(bookingService.confirmHold(bookingId, startDate)).thenReturn(Booking.builder().id(bookingId).build());
+
+        // When
+        holdService.confirmHold(bookingId, startDate);
+
+        // Then
+        assertThat(meterRegistry.counter("booking.holds.confirmed").count()).isEqualTo(1);
+    }
+
+    private void stubCreateHold() {
+        when(bookingService.createHold(eq(userId), eq(itemId), eq(startDate), eq(endDate), eq(""), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Booking.builder()
+                        .id(UUID.randomUUID())
+                        .startDate(startDate)
+                        .endDate(endDate)
+                        .status(Booking.BookingStatus.PENDING)
+                        .holdExpiresAt(invocation.getArgument(5))
+                        .build());
+    }
+
+    private BookingHoldService service(int releaseBatchSize) {
+        return new BookingHoldService(bookingService, bookingRepository, meterRegistry,
+                Duration.ofMinutes(10), Duration.ofMinutes(30), 100, releaseBatchSize, Duration.ofMinutes(1));
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
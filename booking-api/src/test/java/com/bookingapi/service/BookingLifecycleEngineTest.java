@@ -0,0 +1,144 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Booking;
+import com.bookingapi.event.BookingStatusChangedEvent;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingTransition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingLifecycleEngineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 16, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ItemOccupancyIndex occupancyIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void advance_ShouldMoveDueBookingsInChunks_UntilAChunkComesBackShort() {
+        // Given
+        when(bookingRepository.completeDueBookings(NOW, 2)).thenReturn(List.of());
+        when(bookingRepository.activateDueBookings(NOW, 2))
+                .thenReturn(transitions(2, Booking.BookingStatus.ACTIVE))
+                .thenReturn(transitions(1, Booking.BookingStatus.ACTIVE));
+
+        // When
+        int moved = engine(2).advance(NOW);
+
+        // Then
+        assertThat(moved).isEqualTo(3);
+        verify(bookingRepository, times(2)).activateDueBookings(NOW, 2);
+        verify(outboxService, times(2)).enqueueBookingStatusChanged(any(BookingStatusChangedEvent.class));
+        assertThat(meterRegistry.counter("booking.lifecycle.transitions", "status", "ACTIVE").count()).isEqualTo(3);
+        verifyNoInteractions(availabilityIndex, occupancyIndex);
+    }
+
+    @Test
+    void advance_ShouldPublishOneEventPerChunk_AndReleaseCompletedBookings() {
+        // Given
+        List<BookingTransition> completed = transitions(3, Booking.BookingStatus.COMPLETED);
+        when(bookingRepository.completeDueBookings(NOW, 10)).thenReturn(completed);
+        when(bookingRepository.activateDueBookings(NOW, 10)).thenReturn(List.of());
+
+        // When
+        engine(10).advance(NOW);
+
+        // Then
+        ArgumentCaptor<BookingStatusChangedEvent> event = ArgumentCaptor.forClass(BookingStatusChangedEvent.class);
+        verify(outboxService).enqueueBookingStatusChanged(event.capture());
+        assertThat(event.getValue().getChanges()).hasSize(3)
+                .allSatisfy(change -> {
+                    assertThat(change.getPreviousStatus()).isEqualTo("ACTIVE");
+                    assertThat(change.getStatus()).isEqualTo("COMPLETED");
+                });
+        for (BookingTransition transition : completed) {
+            verify(availabilityIndex).removeAfterCommit(transition.id());
+        }
+        verify(occupancyIndex).removeAllAfterCommit(completed.stream()
+                .map(transition -> new ItemOccupancyIndex.BookedRange(
+                        transition.itemId(), transition.startDate(), transition.endDate()))
+                .toList());
+        assertThat(meterRegistry.counter("booking.lifecycle.transitions", "status", "COMPLETED").count()).isEqualTo(3);
+    }
+
+    @Test
+    void advance_ShouldNotPublish_WhenNothingIsDue() {
+        // Given
+        when(bookingRepository.completeDueBookings(NOW, 10)).thenReturn(List.of());
+        when(bookingRepository.activateDueBookings(NOW, 10)).thenReturn(List.of());
+
+        // When
+        int moved = engine(10).advance(NOW);
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void advance_ShouldCountFailure_AndStopTheRun() {
+        // Given
+        when(bookingRepository.completeDueBookings(NOW, 10)).thenThrow(new IllegalStateException("lock timeout"));
+
+        // When
+        int moved = engine(10).advance(NOW);
+
+        // Then
+        assertThat(moved).isZero();
+        verify(bookingRepository, never()).activateDueBookings(any(), anyInt());
+        assertThat(meterRegistry.counter("booking.lifecycle.failures").count()).isEqualTo(1);
+    }
+
+    private List<BookingTransition> transitions(int count, Booking.BookingStatus status) {
+        Booking.BookingStatus previous = status == Booking.BookingStatus.COMPLETED
+                ? Booking.BookingStatus.ACTIVE
+                : Booking.BookingStatus.CONFIRMED;
+        List<BookingTransition> transitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transitions.add(new BookingTransition(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    NOW.minusDays(3), NOW.minusDays(1), previous, status));
+        }
+        return transitions;
+    }
+
+    private BookingLifecycleEngine engine(int chunkSize) {
+        return new BookingLifecycleEngine(bookingRepository, outboxService, availabilityIndex, occupancyIndex,
+                new TransactionTemplate(transactionManager), meterRegistry, chunkSize);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingPartitionManagerTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void maintain_ShouldCreateMissingMonthsAhead() {
+        // Given
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of(NOW, NOW.plusMonths(1)));
+        when(bookingRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(bookingRepository.createMonthlyPartition(NOW.plusMonths(2))).thenReturn(0);
+        when(bookingRepository.createMonthlyPartition(NOW.plusMonths(3))).thenReturn(4);
+
+        // When
+        manager(3, 24, "bookings_archive").maintain(NOW);
+
+        // Then
+        verify(bookingRepository).createMonthlyPartition(NOW.plusMonths(2));
+        verify(bookingRepository).createMonthlyPartition(NOW.plusMonths(3));
+        verify(bookingRepository, never()).createMonthlyPartition(NOW.plusMonths(4));
+        verify(bookingRepository, never()).archiveMonthlyPartition(any(), any());
+        assertThat(meterRegistry.counter("booking.partitions.created").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("booking.partitions.moved").count()).isEqualTo(4);
+    }
+
+    @Test
+    void maintain_ShouldArchiveMonthsPastRetention() {
+        // Given
+        YearMonth expired = NOW.minusMonths(13);
+        YearMonth oldestKept = NOW.minusMonths(12);
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of(expired, oldestKept, NOW));
+        when(bookingRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(bookingRepository.archiveMonthlyPartition(expired, "bookings_archive")).thenReturn(250L);
+
+        // When
+        manager(0, 12, "bookings_archive").maintain(NOW);
+
+        // Then
+        verify(bookingRepository).archiveMonthlyPartition(expired, "bookings_archive");
+        verify(bookingRepository, never()).archiveMonthlyPartition(eq(oldestKept), any());
+        assertThat(meterRegistry.counter("booking.partitions.archived").count()).isEqualTo(1);
+    }
+
+    @Test
+    void maintain_ShouldDropExpiredPartitions_WhenNoArchiveSchemaIsSet() {
+        // Given
+        YearMonth expired = NOW.minusMonths(25);
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of(expired, NOW));
+        when(bookingRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(bookingRepository.archiveMonthlyPartition(expired, null)).thenReturn(0L);
+
+        // When
+        manager(0, 24, "").maintain(NOW);
+
+        // Then
+        verify(bookingRepository).archiveMonthlyPartition(expired, null);
+    }
+
+    @Test
+    void maintain_ShouldKeepAllPartitions_WhenRetentionIsZero() {
+        // Given
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of(NOW.minusYears(10), NOW));
+
+        // When
+        manager(0, 0, "bookings_archive").maintain(NOW);
+
+        // Then
+        verify(bookingRepository, never()).archiveMonthlyPartition(any(), any());
+    }
+
+    @Test
+    void maintain_ShouldStop_WhenAnotherInstanceHoldsTheLock() {
+        // Given
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of(NOW.minusYears(3)));
+        when(bookingRepository.tryLockPartitionMaintenance()).thenReturn(false);
+
+        // When
+        manager(2, 24, "bookings_archive").maintain(NOW);
+
+        // Then - one attempt, then the run gives way
+        verify(bookingRepository, times(1)).tryLockPartitionMaintenance();
+        verify(bookingRepository, never()).createMonthlyPartition(any());
+        verify(bookingRepository, never()).archiveMonthlyPartition(any(), any());
+        assertThat(meterRegistry.counter("booking.partitions.failures").count()).isZero();
+    }
+
+    @Test
+    void maintain_ShouldCountFailure_WhenPartitionCannotBeCreated() {
+        // Given
+        when(bookingRepository.findMonthlyPartitions()).thenReturn(List.of());
+        when(bookingRepository.tryLockPartitionMaintenance()).thenReturn(true);
+        when(bookingRepository.createMonthlyPartition(NOW)).thenThrow(new IllegalStateException("lock timeout"));
+
+        // When
+        manager(2, 24, "bookings_archive").maintain(NOW);
+
+        // Then
+        verify(bookingRepository, times(1)).createMonthlyPartition(any());
+        verify(bookingRepository, never()).archiveMonthlyPartition(any(), any());
+        assertThat(meterRegistry.counter("booking.partitions.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_ShouldRejectArchiveSchemaThatIsNotAPlainIdentifier() {
+        assertThatThrownBy(() -> manager(12, 24, "archive; DROP TABLE bookings"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BookingPartitionManager manager(int monthsAhead, int retentionMonths, String archiveSchema) {
+        return new BookingPartitionManager(bookingRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, monthsAhead, retentionMonths, archiveSchema);
+    }
+}
@@ -1,27 +1,45 @@
 package com.bookingapi.service;
 
+import com.bookingapi.dto.BatchBookingResult;
+import com.bookingapi.dto.BookingCursor;
+import com.bookingapi.dto.BookingPage;
+import com.bookingapi.dto.BookingRequest;
+import com.bookingapi.dto.BookingResponse;
 import com.bookingapi.entity.Booking;
 import com.bookingapi.entity.Item;
 import com.bookingapi.entity.User;
 import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.repository.BookingListQuery;
 import com.bookingapi.repository.BookingRepository;
-import com.bookingapi.repository.ItemRepository;
-import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.BookingSlot;
+import com.bookingapi.repository.PendingHold;
+import com.bookingapi.repository.UserSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,13 +49,27 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
 
     @Mock
-    private ItemRepository itemRepository;
+    private ItemCatalog itemCatalog;
 
     @Mock
-    private EventProducerService eventProducerService;
+    private OutboxService outboxService;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ItemOccupancyIndex occupancyIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @InjectMocks
     private BookingService bookingService;
@@ -87,10 +119,10 @@ class BookingServiceTest {
                 .notes(notes)
                 .build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
-        doNothing().when(eventProducerService).publishBookingCreated(any(BookingCreatedEvent.class));
+        doNothing().when(outboxService).enqueueBookingCreated(any(BookingCreatedEvent.class));
 
         // When
         Booking result = bookingService.createBooking(userId, itemId, startDate, endDate, notes);
@@ -105,13 +137,13 @@ class BookingServiceTest {
         assertThat(result.getNotes()).isEqualTo(notes);
 
         verify(bookingRepository).save(any(Booking.class));
-        verify(eventProducerService).publishBookingCreated(any(BookingCreatedEvent.class));
+        verify(outboxService).enqueueBookingCreated(any(BookingCreatedEvent.class));
     }
 
     @Test
     void createBooking_ShouldThrowException_WhenUserNotFound() {
         // Given
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userDirectory.find(userId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
@@ -119,14 +151,14 @@ class BookingServiceTest {
                 .hasMessage("User not found");
 
         verify(bookingRepository, never()).save(any(Booking.class));
-        verify(eventProducerService, never()).publishBookingCreated(any(BookingCreatedEvent.class));
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
     }
 
     @Test
     void createBooking_ShouldThrowException_WhenItemNotFound() {
         // Given
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
@@ -134,15 +166,49 @@ class BookingServiceTest {
                 .hasMessage("Item not found");
 
         verify(bookingRepository, never()).save(any(Booking.class));
-        verify(eventProducerService, never()).publishBookingCreated(any(BookingCreatedEvent.class));
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void createBooking_ShouldRecordStagesAndSuccessOutcome() {
+        // Given
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        bookingService.createBooking(userId, itemId, startDate, endDate, "notes");
+
+        // Then
+        assertThat(createCount("success")).isEqualTo(1);
+        assertThat(stageCount("publish", "success")).isEqualTo(1);
+        assertThat(stageCount("save", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void createBooking_ShouldRecordNotFoundOutcome_AtFailingStage() {
+        // Given
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.empty());
+
+        // When
+        assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
+                .isInstanceOf(RuntimeException.class);
+
+        // Then
+        assertThat(createCount("not_found")).isEqualTo(1);
+        assertThat(createCount("error")).isZero();
+        assertThat(stageCount("user_lookup", "success")).isEqualTo(1);
+        assertThat(stageCount("item_lookup", "not_found")).isEqualTo(1);
+        assertThat(stageCount("conflict_check", "success")).isZero();
     }
 
     @Test
     void createBooking_ShouldThrowException_WhenItemNotAvailable() {
         // Given
         item.setIsAvailable(false);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
 
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
@@ -150,15 +216,15 @@ class BookingServiceTest {
                 .hasMessage("Item is not available for booking");
 
         verify(bookingRepository, never()).save(any(Booking.class));
-        verify(eventProducerService, never()).publishBookingCreated(any(BookingCreatedEvent.class));
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
     }
 
     @Test
     void createBooking_ShouldThrowException_WhenEndDateBeforeStartDate() {
         // Given
         LocalDateTime invalidEndDate = startDate.minusDays(1);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
 
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, invalidEndDate, "notes"))
@@ -166,7 +232,7 @@ class BookingServiceTest {
                 .hasMessage("End date must be after start date");
 
         verify(bookingRepository, never()).save(any(Booking.class));
-        verify(eventProducerService, never()).publishBookingCreated(any(BookingCreatedEvent.class));
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
     }
 
     @Test
@@ -197,4 +263,438 @@ class BookingServiceTest {
 
         verify(bookingRepository).findById(bookingId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingResponse_ShouldReadProjectionWithoutLoadingEntity() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        BookingResponse response = new BookingResponse(bookingId, userId, itemId, startDate, endDate,
+                new BigDecimal("200.00"), Booking.BookingStatus.CONFIRMED, null, null, null);
+        when(bookingRepository.findResponseById(bookingId)).thenReturn(Optional.of(response));
+
+        // When
+        BookingResponse result = bookingService.getBookingResponse(bookingId);
+
+        // Then
+        assertThat(result).isEqualTo(response);
+        verify(bookingRepository, never()).findById(any());
+    }
+
+    @Test
+    void listBookings_ShouldReturnCursorOfLastRow_WhenMoreRowsFollow() {
+        // Given
+        List<BookingResponse> rows = List.of(response(startDate), response(startDate.plusDays(1)),
+                response(startDate.plusDays(2)));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(rows);
+
+        // When
+        BookingPage page = bookingService.listBookings(userId, null, null, null, null, null, 2);
+
+        // Then
+        assertThat(page.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(BookingCursor.decode(page.nextCursor())).isEqualTo(BookingCursor.after(rows.get(1)));
+        verify(bookingRepository).findPage(argThat(query -> query.limit() == 3 && query.afterStartDate() == null));
+    }
+
+    @Test
+    void listBookings_ShouldSeekPastCursor_AndEndOnShortPage() {
+        // Given
+        BookingCursor cursor = new BookingCursor(startDate, UUID.randomUUID());
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(response(endDate)));
+
+        // When
+        BookingPage page = bookingService.listBookings(null, itemId, Booking.BookingStatus.CONFIRMED,
+                null, null, cursor.encode(), 2);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+        verify(bookingRepository).findPage(argThat(query -> itemId.equals(query.itemId())
+                && startDate.equals(query.afterStartDate())
+                && cursor.id().equals(query.afterId())
+                && query.status() == Booking.BookingStatus.CONFIRMED));
+    }
+
+    @Test
+    void listBookings_ShouldRejectMissingOrAmbiguousOwner() {
+        // When & Then
+        assertThatThrownBy(() -> bookingService.listBookings(null, null, null, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bookingService.listBookings(userId, itemId, null, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void listBookings_ShouldRejectMalformedCursor() {
+        // When & Then
+        assertThatThrownBy(() -> bookingService.listBookings(userId, null, null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void createBooking_ShouldRejectIndexedConflict_WithoutQueryingDatabase() {
+        // Given
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(availabilityIndex.hasConflict(itemId, startDate, endDate)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
+                .isInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("Item is already booked for these dates");
+
+        verify(bookingRepository, never()).isItemBookedInDateRange(any(), any(), any());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        assertThat(stageCount("conflict_check", "conflict")).isEqualTo(1);
+    }
+
+    @Test
+    void createBooking_ShouldQueryDatabase_WhenIndexIsVerifying() {
+        // Given
+        ReflectionTestUtils.setField(bookingService, "exclusionConstraint", true);
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(availabilityIndex.hasConflict(itemId, startDate, endDate)).thenReturn(false);
+        when(availabilityIndex.isVerifying()).thenReturn(true);
+        when(bookingRepository.isItemBookedInDateRange(itemId, startDate, endDate)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
+                .isInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("Item is already booked for these dates");
+
+        verify(availabilityIndex).recordVerification(itemId, startDate, endDate, false, true);
+    }
+
+    @Test
+    void createBooking_ShouldSkipConflictQuery_WhenExclusionConstraintIsEnabled() {
+        // Given
+        ReflectionTestUtils.setField(bookingService, "exclusionConstraint", true);
+        Booking savedBooking = Booking.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .item(item)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalPrice(BigDecimal.valueOf(100.00))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .notes("notes")
+                .build();
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(savedBooking);
+
+        // When
+        Booking result = bookingService.createBooking(userId, itemId, startDate, endDate, "notes");
+
+        // Then
+        assertThat(result).isEqualTo(savedBooking);
+        verify(bookingRepository, never()).isItemBookedInDateRange(any(), any(), any());
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_ShouldReportAlreadyBooked_WhenExclusionConstraintIsViolated() {
+        // Given
+        ReflectionTestUtils.setField(bookingService, "exclusionConstraint", true);
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01")));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking(userId, itemId, startDate, endDate, "notes"))
+                .isInstanceOf(RuntimeException.class)
+                .hasRootCauseMessage("Item is already booked for these dates");
+
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void cancelBooking_ShouldCancelAndReleaseIndexedRange() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .item(item)
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        // When
+        Booking result = bookingService.cancelBooking(bookingId);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
+        verify(availabilityIndex).removeAfterCommit(bookingId);
+        verify(occupancyIndex).removeAfterCommit(itemId, startDate, endDate);
+    }
+
+    @Test
+    void cancelBooking_ShouldThrowException_WhenAlreadyCancelled() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .status(Booking.BookingStatus.CANCELLED)
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.cancelBooking(bookingId))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(availabilityIndex, never()).removeAfterCommit(any());
+    }
+
+    @Test
+    void createHold_ShouldSavePendingBookingWithExpiry_WithoutPublishing() {
+        // Given
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10);
+        when(userDirectory.find(userId)).thenReturn(Optional.of(UserSummary.from(user)));
+        when(itemCatalog.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Booking hold = bookingService.createHold(userId, itemId, startDate, endDate, "", expiresAt);
+
+        // Then
+        assertThat(hold.getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(hold.getHoldExpiresAt()).isEqualTo(expiresAt);
+        verify(occupancyIndex).addAfterCommit(itemId, startDate, endDate);
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+        assertThat(meterRegistry.get("booking.hold").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(createCount("success")).isZero();
+    }
+
+    @Test
+    void confirmHold_ShouldQueueCreatedEvent_WhenHoldIsStillPending() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .user(user)
+                .item(item)
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalPrice(BigDecimal.valueOf(150.00))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build();
+        when(bookingRepository.confirmHold(eq(bookingId), eq(startDate), any(LocalDateTime.class))).thenReturn(true);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When
+        Booking result = bookingService.confirmHold(bookingId, startDate);
+
+        // Then
+        assertThat(result).isSameAs(booking);
+        verify(outboxService).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void confirmHold_ShouldThrowException_WhenHoldHasExpired() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .status(Booking.BookingStatus.PENDING)
+                .holdExpiresAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+        when(bookingRepository.confirmHold(eq(bookingId), isNull(), any(LocalDateTime.class))).thenReturn(false);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.confirmHold(bookingId, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Hold has expired");
+
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void confirmHold_ShouldThrowNotFound_WhenStartDateDoesNotMatchTheHold() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .startDate(startDate)
+                .status(Booking.BookingStatus.PENDING)
+                .holdExpiresAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(bookingRepository.confirmHold(eq(bookingId), eq(startDate.plusDays(1)), any(LocalDateTime.class))).thenReturn(false);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.confirmHold(bookingId, startDate.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hold not found");
+    }
+
+    @Test
+    void releaseHold_ShouldThrowException_WhenBookingIsNotAHold() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder()
+                .id(bookingId)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build();
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.releaseHold(bookingId))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void releaseExpiredHolds_ShouldReleaseIndexedRangesOfReleasedHolds() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        PendingHold hold = new PendingHold(bookingId, startDate, LocalDateTime.now().minusSeconds(1));
+        BookingSlot slot = mock(BookingSlot.class);
+        when(slot.getId()).thenReturn(bookingId);
+        when(slot.getItemId()).thenReturn(itemId);
+        when(slot.getStartDate()).thenReturn(startDate);
+        when(slot.getEndDate()).thenReturn(endDate);
+        when(bookingRepository.releaseExpiredHolds(eq(List.of(hold)), any(LocalDateTime.class)))
+                .thenReturn(List.of(slot));
+
+        // When
+        int released = bookingService.releaseExpiredHolds(List.of(hold));
+
+        // Then
+        assertThat(released).isEqualTo(1);
+        verify(availabilityIndex).removeAfterCommit(bookingId);
+        verify(occupancyIndex).removeAllAfterCommit(
+                List.of(new ItemOccupancyIndex.BookedRange(itemId, startDate, endDate)));
+    }
+
+    @Test
+    void createBookings_ShouldReportPerEntryResults() {
+        // Given
+        UUID unknownItemId = UUID.randomUUID();
+        List<BookingRequest> requests = List.of(
+                new BookingRequest(userId, itemId, startDate, endDate, "first"),
+                new BookingRequest(userId, itemId, startDate.plusDays(1), endDate.plusDays(1), "overlaps first"),
+                new BookingRequest(userId, unknownItemId, startDate, endDate, null),
+                new BookingRequest(userId, itemId, endDate, startDate, null),
+                new BookingRequest(userId, itemId, endDate.plusDays(5), endDate.plusDays(6), null));
+
+        when(userDirectory.findAll(any())).thenReturn(Map.of(userId, UserSummary.from(user)));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(itemId, item));
+        when(bookingRepository.findConflictingBookingSlots(any(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setId(UUID.randomUUID()));
+            return bookings;
+        });
+
+        // When
+        List<BatchBookingResult> results = bookingService.createBookings(requests);
+
+        // Then
+        assertThat(results).extracting(BatchBookingResult::isSuccess)
+                .containsExactly(true, false, false, false, true);
+        assertThat(results.get(1).getMessage()).isEqualTo("Item is already booked for these dates");
+        assertThat(results.get(2).getMessage()).isEqualTo("Item not found");
+        assertThat(results.get(3).getMessage()).isEqualTo("Invalid booking dates");
+        assertThat(results.get(0).getBookingId()).isNotNull();
+
+        verify(userDirectory, times(1)).findAll(any());
+        verify(itemCatalog, times(1)).findAllById(any());
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(outboxService, times(2)).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void createBookings_ShouldRejectConflictsWithExistingBookings() {
+        // Given
+        BookingSlot existing = mock(BookingSlot.class);
+        when(existing.getItemId()).thenReturn(itemId);
+        when(existing.getStartDate()).thenReturn(startDate);
+        when(existing.getEndDate()).thenReturn(endDate);
+
+        when(userDirectory.findAll(any())).thenReturn(Map.of(userId, UserSummary.from(user)));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(itemId, item));
+        when(bookingRepository.findConflictingBookingSlots(any(), any(), any())).thenReturn(List.of(existing));
+        when(bookingRepository.saveAll(anyList())).thenReturn(List.of());
+
+        // When
+        List<BatchBookingResult> results = bookingService.createBookings(
+                List.of(new BookingRequest(userId, itemId, startDate, endDate, null)));
+
+        // Then
+        assertThat(results).singleElement()
+                .satisfies(result -> assertThat(result.isSuccess()).isFalse());
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void createBookings_ShouldRerunBatch_WhenConcurrentBookingViolatesExclusionConstraint() {
+        // Given
+        ReflectionTestUtils.setField(bookingService, "exclusionConstraint", true);
+        BookingSlot concurrent = mock(BookingSlot.class);
+        when(concurrent.getItemId()).thenReturn(itemId);
+        when(concurrent.getStartDate()).thenReturn(startDate);
+        when(concurrent.getEndDate()).thenReturn(endDate);
+
+        when(userDirectory.findAll(any())).thenReturn(Map.of(userId, UserSummary.from(user)));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(itemId, item));
+        when(bookingRepository.findConflictingBookingSlots(any(), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(concurrent));
+        when(bookingRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("overlap",
+                        new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01")))
+                .thenReturn(List.of());
+
+        // When
+        List<BatchBookingResult> results = bookingService.createBookings(
+                List.of(new BookingRequest(userId, itemId, startDate, endDate, null)));
+
+        // Then
+        assertThat(results).singleElement()
+                .satisfies(result -> assertThat(result.getMessage()).isEqualTo("Item is already booked for these dates"));
+        verify(bookingRepository, times(2)).findConflictingBookingSlots(any(), any(), any());
+        verify(outboxService, never()).enqueueBookingCreated(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void createBookings_ShouldFailWithConflict_WhenEveryAttemptRacesConcurrentBookings() {
+        // Given
+        ReflectionTestUtils.setField(bookingService, "exclusionConstraint", true);
+        when(userDirectory.findAll(any())).thenReturn(Map.of(userId, UserSummary.from(user)));
+        when(itemCatalog.findAllById(any())).thenReturn(Map.of(itemId, item));
+        when(bookingRepository.findConflictingBookingSlots(any(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"", "23P01")));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBookings(
+                List.of(new BookingRequest(userId, itemId, startDate, endDate, null))))
+                .isInstanceOf(IllegalStateException.class);
+        verify(bookingRepository, times(3)).saveAllAndFlush(anyList());
+    }
+
+    private BookingResponse response(LocalDateTime start) {
+        return new BookingResponse(UUID.randomUUID(), userId, itemId, start, start.plusDays(1),
+                new BigDecimal("100.00"), Booking.BookingStatus.CONFIRMED, null, null, null);
+    }
+
+    private long createCount(String outcome) {
+        return meterRegistry.get("booking.create").tag("outcome", outcome).timer().count();
+    }
+
+    private long stageCount(String stage, String outcome) {
+        return meterRegistry.get("booking.create.stage").tag("stage", stage).tag("outcome", outcome).timer().count();
+    }
+}
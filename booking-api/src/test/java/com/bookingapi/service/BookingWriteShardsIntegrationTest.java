@@ -0,0 +1,145 @@
+package com.bookingapi.service;
+
+import com.bookingapi.TestTokens;
+import com.bookingapi.entity.Item;
+import com.bookingapi.entity.User;
+import com.bookingapi.repository.ItemRepository;
+import com.bookingapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent overlapping bookings through {@link BookingService#createBooking} on the write
+ * lanes, as the controller does, with the exclusion constraint dropped so that only the lanes
+ * keep the conflict check and the insert of one item from interleaving.
+ */
+@SpringBootTest(properties = {
+        TestTokens.SECRET_PROPERTY,
+        "booking.sharding.enabled=true",
+        "booking.sharding.lanes=4",
+        "booking.conflict-check.exclusion-constraint=false",
+        "booking.outbox.relay.enabled=false",
+        "spring.kafka.bootstrap-servers=localhost:1"
+})
+@Testcontainers
+@DirtiesContext
+class BookingWriteShardsIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingWriteShards bookingWriteShards;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private List<UUID> items;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE booking_claims DROP CONSTRAINT IF EXISTS bookings_no_overlap");
+
+        user = userRepository.save(User.builder()
+                .email("lanes-" + UUID.randomUUID() + "@example.com")
+                .firstName("Lane")
+                .lastName("Tester")
+                .build());
+        items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(itemRepository.save(Item.builder()
+                    .name("Lane item " + i)
+                    .pricePerDay(BigDecimal.valueOf(50.00))
+                    .maxDurationDays(30)
+                    .isAvailable(true)
+                    .build()).getId());
+        }
+    }
+
+    @Test
+    void createBooking_ShouldNotDoubleBook_UnderConcurrentOverlappingRequests() throws Exception {
+        // Given
+        LocalDateTime base = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.DAYS);
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        List<Future<Boolean>> results = new ArrayList<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 400; i++) {
+            UUID itemId = items.get(random.nextInt(items.size()));
+            LocalDateTime start = base.plusDays(random.nextInt(20));
+            LocalDateTime end = start.plusDays(1 + random.nextInt(3));
+            results.add(clients.submit(() -> {
+                try {
+                    bookingWriteShards.execute(itemId,
+                            () -> bookingService.createBooking(user.getId(), itemId, start, end, "lanes"));
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                accepted++;
+            }
+        }
+        clients.shutdown();
+
+        // Then
+        Integer overlapping = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings a JOIN bookings b ON a.item_id = b.item_id AND a.id < b.id " +
+                "AND tsrange(a.start_date, a.end_date, '[]') && tsrange(b.start_date, b.end_date, '[]') " +
+                "WHERE a.user_id = ? AND a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'",
+                Integer.class, user.getId());
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings WHERE user_id = ?", Integer.class, user.getId());
+
+        assertThat(accepted).isPositive().isLessThan(400);
+        assertThat(stored).isEqualTo(accepted);
+        assertThat(overlapping).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.bookingapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingWriteShardsTest {
+
+    private BookingWriteShards shards;
+
+    @AfterEach
+    void tearDown() {
+        if (shards != null) {
+            shards.shutdown();
+        }
+    }
+
+    @Test
+    void execute_ShouldPreventDoubleBookings_UnderConcurrentOverlappingRequests() throws Exception {
+        // Given
+        shards = new BookingWriteShards(true, 8, 10_000, false);
+        List<UUID> items = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            items.add(UUID.randomUUID());
+        }
+        // Deliberately unsynchronized per-item storage: only the lanes keep it consistent
+        Map<UUID, List<int[]>> bookingsByItem = new ConcurrentHashMap<>();
+        items.forEach(itemId -> bookingsByItem.put(itemId, new ArrayList<>()));
+        AtomicInteger accepted = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(64);
+        List<Future<Boolean>> results = new ArrayList<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 4000; i++) {
+            UUID itemId = items.get(random.nextInt(items.size()));
+            int start = random.nextInt(30);
+            int end = start + 1 + random.nextInt(4);
+            results.add(clients.submit(() -> shards.execute(itemId, () -> {
+                List<int[]> existing = bookingsByItem.get(itemId);
+                boolean conflict = existing.stream().anyMatch(b -> b[0] <= end && b[1] >= start);
+                Thread.yield();
+                if (conflict) {
+                    return false;
+                }
+                existing.add(new int[]{start, end});
+                accepted.incrementAndGet();
+                return true;
+            })));
+        }
+        for (Future<Boolean> result : results) {
+            result.get();
+        }
+        clients.shutdown();
+
+        // Then
+        assertThat(accepted.get()).isPositive();
+        for (List<int[]> bookings : bookingsByItem.values()) {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    int[] a = bookings.get(i);
+                    int[] b = bookings.get(j);
+                    assertThat(a[0] <= b[1] && a[1] >= b[0])
+                            .as("bookings [%d,%d] and [%d,%d] overlap", a[0], a[1], b[0], b[1])
+                            .isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void execute_ShouldRouteSameItemToSameLane() {
+        // Given
+        shards = new BookingWriteShards(true, 4, 100, false);
+        UUID itemId = UUID.randomUUID();
+
+        // When
+        String first = shards.execute(itemId, () -> Thread.currentThread().getName());
+        String second = shards.execute(itemId, () -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(first).startsWith("booking-lane-").isEqualTo(second);
+        assertThat(first).isEqualTo("booking-lane-" + shards.laneIndex(itemId));
+    }
+
+    @Test
+    void execute_ShouldRunInline_WhenDisabled() {
+        // Given
+        shards = new BookingWriteShards(false, 4, 100, false);
+
+        // When
+        String threadName = shards.execute(UUID.randomUUID(), () -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(shards.isEnabled()).isFalse();
+        assertThat(threadName).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void execute_ShouldPropagateTaskExceptions() {
+        // Given
+        shards = new BookingWriteShards(true, 2, 100, true);
+
+        // When & Then
+        assertThatThrownBy(() -> shards.execute(UUID.randomUUID(), () -> {
+            throw new IllegalArgumentException("Item not found");
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Item not found");
+    }
+}
@@ -1,22 +1,46 @@
 package com.bookingapi.service;
 
+import com.bookingapi.entity.User;
 import com.bookingapi.event.UserRegisteredEvent;
+import com.bookingapi.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
 @ExtendWith(MockitoExtension.class)
 class EventConsumerServiceTest {
 
-    @InjectMocks
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
     private EventConsumerService eventConsumerService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventConsumerService = new EventConsumerService(userRepository, userDirectory, meterRegistry);
+    }
+
     @Test
-    void handleUserRegistered_ShouldProcessEventSuccessfully() {
+    void handleUserRegisteredBatch_ShouldProcessEventSuccessfully_ForASingleEvent() {
         // Given
         UUID userId = UUID.randomUUID();
         UserRegisteredEvent event = UserRegisteredEvent.builder()
@@ -28,16 +52,17 @@ class EventConsumerServiceTest {
                 .build();
 
         // When
-        eventConsumerService.handleUserRegistered(event);
+        eventConsumerService.handleUserRegisteredBatch(List.of(event));
 
         // Then
-        // The method should complete without throwing exceptions
-        // In a real scenario, you might verify logging or service calls
-        // For now, we just ensure the method executes successfully
+        verify(userRepository).upsertAll(argThat(users -> users.size() == 1
+                && users.iterator().next().getId().equals(userId)));
+        verify(userDirectory).putAll(argThat(users -> users.size() == 1
+                && users.iterator().next().id().equals(userId)));
     }
 
     @Test
-    void handleUserRegistered_ShouldHandleNullValues() {
+    void handleUserRegisteredBatch_ShouldHandleNullValues_ForASingleEvent() {
         // Given
         UserRegisteredEvent event = UserRegisteredEvent.builder()
                 .userId(null)
@@ -49,11 +74,13 @@ class EventConsumerServiceTest {
 
         // When & Then
         // Should not throw NullPointerException
-        eventConsumerService.handleUserRegistered(event);
+        eventConsumerService.handleUserRegisteredBatch(List.of(event));
+        assertThat(meterRegistry.counter("booking.kafka.consume.skipped", "topic", "user_registered").count())
+                .isEqualTo(1);
     }
 
     @Test
-    void handleUserRegistered_ShouldHandleEmptyStrings() {
+    void handleUserRegisteredBatch_ShouldHandleEmptyStrings_ForASingleEvent() {
         // Given
         UserRegisteredEvent event = UserRegisteredEvent.builder()
                 .userId(UUID.randomUUID())
@@ -65,6 +92,62 @@ class EventConsumerServiceTest {
 
         // When & Then
         // Should handle empty strings gracefully
-        eventConsumerService.handleUserRegistered(event);
+        eventConsumerService.handleUserRegisteredBatch(List.of(event));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleUserRegisteredBatch_ShouldUpsertOncePerBatch_KeepingLatestEventPerUser() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<UserRegisteredEvent> events = List.of(
+                event(userId, "old@example.com"),
+                event(UUID.randomUUID(), "other@example.com"),
+                event(userId, "new@example.com"));
+
+        // When
+        eventConsumerService.handleUserRegisteredBatch(events);
+
+        // Then
+        ArgumentCaptor<Collection<User>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(1)).upsertAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2)
+                .filteredOn(user -> user.getId().equals(userId))
+                .singleElement()
+                .extracting(User::getEmail)
+                .isEqualTo("new@example.com");
+        assertThat(meterRegistry.counter("booking.kafka.consume.records", "topic", "user_registered").count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void handleUserRegisteredBatch_ShouldRetryIndividually_WhenBatchViolatesConstraint() {
+        // Given
+        List<UserRegisteredEvent> events = List.of(
+                event(UUID.randomUUID(), "a@example.com"),
+                event(UUID.randomUUID(), "duplicate@example.com"));
+        doThrow(new DataIntegrityViolationException("batch"))
+                .doNothing()
+                .doThrow(new DataIntegrityViolationException("duplicate email"))
+                .when(userRepository).upsertAll(any());
+
+        // When
+        eventConsumerService.handleUserRegisteredBatch(events);
+
+        // Then
+        verify(userRepository, times(3)).upsertAll(any());
+        verify(userDirectory, times(1)).putAll(any());
+        assertThat(meterRegistry.counter("booking.kafka.consume.skipped", "topic", "user_registered").count())
+                .isEqualTo(1);
+    }
+
+    private UserRegisteredEvent event(UUID userId, String email) {
+        return UserRegisteredEvent.builder()
+                .userId(userId)
+                .email(email)
+                .firstName("Jane")
+                .lastName("Smith")
+                .registeredAt(LocalDateTime.now())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,10 @@
 package com.bookingapi.service;
 
 import com.bookingapi.event.BookingCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -26,7 +27,7 @@ class EventProducerServiceTest {
     @Mock
     private KafkaTemplate<String, Object> kafkaTemplate;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private EventProducerService eventProducerService;
 
     private BookingCreatedEvent testEvent;
@@ -35,6 +36,8 @@ class EventProducerServiceTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventProducerService = new EventProducerService(kafkaTemplate, meterRegistry, 2, 0);
         bookingId = UUID.randomUUID();
         userId = UUID.randomUUID();
 
@@ -51,65 +54,110 @@ class EventProducerServiceTest {
     }
 
     @Test
-    void publishBookingCreated_ShouldSendEventSuccessfully() {
+    void send_ShouldSendEventSuccessfully() {
         // Given
         CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(null);
         when(kafkaTemplate.send(eq("booking_created"), eq(bookingId.toString()), eq(testEvent)))
                 .thenReturn(future);
 
         // When
-        eventProducerService.publishBookingCreated(testEvent);
+        eventProducerService.send(EventProducerService.BOOKING_CREATED_TOPIC, bookingId.toString(), testEvent);
 
         // Then
         verify(kafkaTemplate).send("booking_created", bookingId.toString(), testEvent);
     }
 
     @Test
-    void publishBookingCreated_ShouldThrowException_WhenKafkaFails() {
+    void send_ShouldRethrowAndRecordError_WhenKafkaTemplateThrows() {
         // Given
         RuntimeException kafkaException = new RuntimeException("Kafka connection failed");
         when(kafkaTemplate.send(any(), any(), any()))
                 .thenThrow(kafkaException);
 
         // When & Then
-        assertThatThrownBy(() -> eventProducerService.publishBookingCreated(testEvent))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to publish booking created event")
-                .hasCause(kafkaException);
+        assertThatThrownBy(() -> eventProducerService.send(
+                EventProducerService.BOOKING_CREATED_TOPIC, bookingId.toString(), testEvent))
+                .isSameAs(kafkaException);
+
+        assertThat(meterRegistry.get("booking.kafka.publish")
+                .tag("topic", "booking_created")
+                .tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
 
-        verify(kafkaTemplate).send("booking_created", bookingId.toString(), testEvent);
+    @Test
+    void send_ShouldSendWithoutKey_WhenKeyIsNull() {
+        // Given
+        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(eq("booking_created"), isNull(), eq(testEvent)))
+                .thenReturn(future);
+
+        // When
+        eventProducerService.send(EventProducerService.BOOKING_CREATED_TOPIC, null, testEvent);
+
+        // Then
+        verify(kafkaTemplate).send("booking_created", null, testEvent);
     }
 
     @Test
-    void publishBookingCreated_ShouldHandleNullEvent() {
+    void send_ShouldRecordLatencyPerTopic_WhenAcknowledged() {
         // Given
-        BookingCreatedEvent nullEvent = null;
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send("booking_created", "key", testEvent)).thenReturn(future);
 
-        // When & Then
-        assertThatThrownBy(() -> eventProducerService.publishBookingCreated(nullEvent))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to publish booking created event");
+        // When
+        eventProducerService.send("booking_created", "key", testEvent);
+        future.complete(null);
 
-        verify(kafkaTemplate, never()).send(any(), any(), any());
+        // Then
+        assertThat(meterRegistry.get("booking.kafka.publish")
+                .tag("topic", "booking_created")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
     }
 
     @Test
-    void publishBookingCreated_ShouldHandleEventWithNullBookingId() {
+    void send_ShouldRecordErrors_WhenBrokerRejectsRecord() {
         // Given
-        BookingCreatedEvent eventWithNullId = BookingCreatedEvent.builder()
-                .bookingId(null)
-                .userId(userId)
-                .itemName("Test Item")
-                .build();
+        when(kafkaTemplate.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("not leader")));
 
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(null);
-        when(kafkaTemplate.send(eq("booking_created"), isNull(), eq(eventWithNullId)))
-                .thenReturn(future);
+        // When
+        CompletableFuture<SendResult<String, Object>> result =
+                eventProducerService.send("booking_created", "key", testEvent);
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(meterRegistry.get("booking.kafka.publish")
+                .tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void send_ShouldApplyBackpressure_WhenSendBufferIsFull() {
+        // Given
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<>());
+        eventProducerService.send("booking_created", "1", testEvent);
+        eventProducerService.send("booking_created", "2", testEvent);
+
+        // When & Then
+        assertThatThrownBy(() -> eventProducerService.send("booking_created", "3", testEvent))
+                .isInstanceOf(EventProducerService.SendBufferFullException.class);
+        assertThat(meterRegistry.counter("booking.kafka.send.rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.kafka.send.in-flight").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void send_ShouldReleaseBufferSlot_WhenAcknowledged() {
+        // Given
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // When
-        eventProducerService.publishBookingCreated(eventWithNullId);
+        for (int i = 0; i < 5; i++) {
+            eventProducerService.send("booking_created", String.valueOf(i), testEvent);
+        }
 
         // Then
-        verify(kafkaTemplate).send("booking_created", null, eventWithNullId);
+        assertThat(meterRegistry.get("booking.kafka.send.in-flight").gauge().value()).isZero();
     }
 }
\ No newline at end of file
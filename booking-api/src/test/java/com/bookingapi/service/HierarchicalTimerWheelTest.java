@@ -0,0 +1,109 @@
+package com.bookingapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimerWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void advance_ShouldReturnTimersOnlyOnceTheirDeadlinePassed() {
+        // Given
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, START);
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 1_000);
+
+        // When & Then
+        assertThat(wheel.advance(START + 200)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("a");
+        assertThat(wheel.advance(START + 999)).isEmpty();
+        assertThat(wheel.advance(START + 1_000)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ShouldCascadeTimersFromEveryLevel_InDeadlineOrder() {
+        // Given - delays spanning all four levels, scheduled out of order
+        HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(1, 0);
+        long[] deadlines = {16_800_000L, 5L, 300L, 65_536L, 255L, 256L, 16_777_216L, 1L, 99_999L};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        // When
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 16_800_000L + 997; now += 997) {
+            for (Long deadline : wheel.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - 997);
+                fired.add(deadline);
+            }
+        }
+
+        // Then
+        assertThat(fired).containsExactly(1L, 5L, 255L, 256L, 300L, 65_536L, 99_999L, 16_777_216L, 16_800_000L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ShouldFireEveryTimerExactlyOnce_ForRandomDeadlines() {
+        // Given
+        HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(TICK, START);
+        Random random = new Random(42);
+        long[] deadlines = new long[10_000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = START + random.nextLong(30 * 60_000L);
+            wheel.schedule(i, deadlines[i]);
+        }
+
+        // When & Then
+        int fired = 0;
+        for (long now = START; now <= START + 30 * 60_000L; now += 1_000) {
+            for (int i : wheel.advance(now)) {
+                assertThat(deadlines[i]).isLessThanOrEqualTo(now).isGreaterThan(now - 1_000 - TICK);
+                fired++;
+            }
+        }
+        assertThat(fired).isEqualTo(deadlines.length);
+    }
+
+    @Test
+    void schedule_ShouldFireOverdueTimerOnNextTick() {
+        // Given
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, START);
+        wheel.advance(START + 5_000);
+
+        // When
+        wheel.schedule("late", START + 1_000);
+
+        // Then
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 5_100)).containsExactly("late");
+    }
+
+    @Test
+    void schedule_ShouldKeepDeadlinesBeyondTheHorizon() {
+        // Given
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(TICK, START);
+
+        // When
+        wheel.schedule("far", Long.MAX_VALUE);
+
+        // Then
+        assertThat(wheel.advance(START + 60_000)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveTick() {
+        assertThatThrownBy(() -> new HierarchicalTimerWheel<String>(0, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,215 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.IdempotencyRecord;
+import com.bookingapi.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService idempotencyService;
+    private String fingerprint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(repository, new TransactionTemplate(transactionManager),
+                JsonMapper.builder().build(), meterRegistry, 100, Duration.ofHours(24), Duration.ofMinutes(1),
+                Duration.ofSeconds(5));
+        fingerprint = IdempotencyService.fingerprint("POST /api/bookings", "user", "item");
+    }
+
+    @Test
+    void execute_ShouldRunOnce_AndReplayStoredResponseToRetries() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(1);
+
+        // When
+        ResponseEntity<?> first = idempotencyService.execute(KEY, fingerprint, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "b-1"));
+        });
+        ResponseEntity<?> retry = idempotencyService.execute(KEY, fingerprint, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "b-2"));
+        });
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody()).isEqualTo("{\"id\":\"b-1\"}");
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        verify(repository).complete(eq(KEY), eq(201), eq("{\"id\":\"b-1\"}"), any(LocalDateTime.class));
+        verify(repository, times(1)).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_ShouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(1);
+
+        // When
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(KEY, fingerprint, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", "b-1"));
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<?>> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute(KEY, fingerprint, () -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.ok().build();
+                }));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        ResponseEntity<?> coalesced = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(coalesced.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(coalesced.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_ShouldRejectKeyReusedForDifferentRequest() {
+        // Given
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(1);
+        idempotencyService.execute(KEY, fingerprint, () -> ResponseEntity.status(HttpStatus.CREATED).body("{}"));
+        String otherRequest = IdempotencyService.fingerprint("POST /api/bookings", "user", "other-item");
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyService.execute(KEY, otherRequest, () -> ResponseEntity.ok().build()))
+                .isInstanceOf(IdempotencyService.KeyReusedException.class);
+    }
+
+    @Test
+    void execute_ShouldNotStoreServerErrors_SoRetriesRunAgain() {
+        // Given
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        idempotencyService.execute(KEY, fingerprint, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        });
+        idempotencyService.execute(KEY, fingerprint, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).build();
+        });
+
+        // Then
+        assertThat(calls).hasValue(2);
+        verify(repository).releasePending(KEY);
+        verify(repository, times(1)).complete(eq(KEY), eq(201), any(), any());
+    }
+
+    @Test
+    void execute_ShouldReplayResponseStoredByAnotherInstance() {
+        // Given
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(0);
+        when(repository.findById(KEY)).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key(KEY)
+                .requestHash(fingerprint)
+                .statusCode(201)
+                .responseBody("{\"id\":\"b-1\"}")
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        // When
+        ResponseEntity<?> response = idempotencyService.execute(KEY, fingerprint, () -> {
+            throw new AssertionError("must not run");
+        });
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isEqualTo("{\"id\":\"b-1\"}");
+    }
+
+    @Test
+    void execute_ShouldRejectWhileAnotherInstanceHoldsTheKey() {
+        // Given
+        when(repository.claim(eq(KEY), eq(fingerprint), any(), any())).thenReturn(0);
+        when(repository.findById(KEY)).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key(KEY)
+                .requestHash(fingerprint)
+                .expiresAt(LocalDateTime.now().plusMinutes(1))
+                .build()));
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyService.execute(KEY, fingerprint, () -> ResponseEntity.ok().build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("still in progress");
+    }
+
+    @Test
+    void execute_ShouldRejectOverlongKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("k".repeat(256), fingerprint, () -> ResponseEntity.ok().build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).claim(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void deleteExpired_ShouldDeleteInBatchesUntilDone() {
+        // Given
+        when(repository.deleteExpired(any(LocalDateTime.class), anyInt())).thenReturn(1_000, 1_000, 12);
+
+        // When
+        idempotencyService.deleteExpired();
+
+        // Then
+        verify(repository, times(3)).deleteExpired(any(LocalDateTime.class), eq(1_000));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
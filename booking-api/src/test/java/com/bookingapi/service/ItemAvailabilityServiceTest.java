@@ -0,0 +1,121 @@
+package com.bookingapi.service;
+
+import com.bookingapi.dto.ItemPage;
+import com.bookingapi.entity.Item;
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemOccupancyIndex occupancyIndex;
+
+    @Mock
+    private ItemCatalog itemCatalog;
+
+    @InjectMocks
+    private ItemAvailabilityService itemAvailabilityService;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1);
+        end = LocalDateTime.now().plusDays(3);
+    }
+
+    @Test
+    void findAvailable_ShouldReturnCursorOfLastItem_WhenMoreItemsFollow() {
+        // Given
+        List<Item> rows = List.of(item(), item(), item());
+        when(itemRepository.findAvailablePage(any(AvailableItemQuery.class))).thenReturn(rows);
+
+        // When
+        ItemPage page = itemAvailabilityService.findAvailable(start, end, "Tools", null, null, null, 2);
+
+        // Then
+        assertThat(page.items()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(page.nextCursor()).isEqualTo(rows.get(1).getId().toString());
+        verify(itemRepository).findAvailablePage(argThat(query -> query.limit() == 3
+                && "Tools".equals(query.category()) && query.afterId() == null));
+    }
+
+    @Test
+    void findAvailable_ShouldSeekPastCursor_AndEndOnShortPage() {
+        // Given
+        UUID afterId = UUID.randomUUID();
+        when(itemRepository.findAvailablePage(any(AvailableItemQuery.class))).thenReturn(List.of(item()));
+
+        // When
+        ItemPage page = itemAvailabilityService.findAvailable(start, end, null, "Warehouse A",
+                new BigDecimal("80.00"), afterId.toString(), 10);
+
+        // Then
+        assertThat(page.nextCursor()).isNull();
+        verify(itemRepository).findAvailablePage(argThat(query -> afterId.equals(query.afterId())
+                && "Warehouse A".equals(query.location())
+                && new BigDecimal("80.00").equals(query.maxPrice())));
+    }
+
+    @Test
+    void findAvailable_ShouldServeFromOccupancyIndex_WhenReady() {
+        // Given
+        Item first = item();
+        Item second = item();
+        when(occupancyIndex.isReady()).thenReturn(true);
+        when(occupancyIndex.findAvailable(any(AvailableItemQuery.class)))
+                .thenReturn(List.of(second.getId(), first.getId()));
+        when(itemCatalog.findAllById(List.of(second.getId(), first.getId())))
+                .thenReturn(Map.of(first.getId(), first, second.getId(), second));
+
+        // When
+        ItemPage page = itemAvailabilityService.findAvailable(start, end, null, null, null, null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(second, first);
+        verify(itemRepository, never()).findAvailablePage(any());
+    }
+
+    @Test
+    void findAvailable_ShouldRejectInvalidRangeAndCursor() {
+        // When & Then
+        assertThatThrownBy(() -> itemAvailabilityService.findAvailable(end, start, null, null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid date range");
+        assertThatThrownBy(() -> itemAvailabilityService.findAvailable(start, end, null, null, null, "bogus", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(itemRepository);
+    }
+
+    private Item item() {
+        return Item.builder()
+                .id(UUID.randomUUID())
+                .name("Test Item")
+                .pricePerDay(new BigDecimal("50.00"))
+                .isAvailable(true)
+                .build();
+    }
+}
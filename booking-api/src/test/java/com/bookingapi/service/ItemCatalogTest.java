@@ -0,0 +1,156 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Item;
+import com.bookingapi.event.ItemChangedEvent;
+import com.bookingapi.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCatalogTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private EventProducerService eventProducerService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemCatalog itemCatalog;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemCatalog = new ItemCatalog(itemRepository, eventProducerService, meterRegistry,
+                1000, 100, Duration.ofMinutes(10));
+        item = Item.builder()
+                .id(UUID.randomUUID())
+                .name("Test Item")
+                .category("Electronics")
+                .location("Warehouse A")
+                .pricePerDay(new BigDecimal("100.00"))
+                .isAvailable(true)
+                .build();
+    }
+
+    @Test
+    void findById_ShouldLoadOnceAndServeFromCache() {
+        // Given
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        // When
+        itemCatalog.findById(item.getId());
+        Optional<Item> second = itemCatalog.findById(item.getId());
+
+        // Then
+        assertThat(second).contains(item);
+        verify(itemRepository, times(1)).findById(item.getId());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllById_ShouldLoadOnlyMissesInOneQuery() {
+        // Given
+        Item other = Item.builder().id(UUID.randomUUID()).category("Tools").location("Warehouse B").build();
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findAllById(Set.of(other.getId()))).thenReturn(List.of(other));
+        itemCatalog.findById(item.getId());
+
+        // When
+        Map<UUID, Item> found = itemCatalog.findAllById(List.of(item.getId(), other.getId()));
+
+        // Then
+        assertThat(found).containsOnlyKeys(item.getId(), other.getId());
+        verify(itemRepository, times(1)).findAllById(Set.of(other.getId()));
+    }
+
+    @Test
+    void onItemChange_ShouldEvictItemAndListsContainingIt() {
+        // Given
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByCategory("Electronics")).thenReturn(List.of(item));
+        when(itemRepository.findByLocation("Warehouse A")).thenReturn(List.of(item));
+        itemCatalog.findById(item.getId());
+        itemCatalog.findByCategory("Electronics");
+        itemCatalog.findByLocation("Warehouse A");
+
+        // When - the item moved to another category and location
+        itemCatalog.onRemoteItemChange(changed("Tools", "Warehouse B"));
+        itemCatalog.findById(item.getId());
+        itemCatalog.findByCategory("Electronics");
+        itemCatalog.findByLocation("Warehouse A");
+
+        // Then
+        verify(itemRepository, times(2)).findById(item.getId());
+        verify(itemRepository, times(2)).findByCategory("Electronics");
+        verify(itemRepository, times(2)).findByLocation("Warehouse A");
+    }
+
+    @Test
+    void onItemChange_ShouldKeepUnrelatedLists() {
+        // Given
+        Item other = Item.builder().id(UUID.randomUUID()).category("Tools").location("Warehouse B").build();
+        when(itemRepository.findByCategory("Tools")).thenReturn(List.of(other));
+        itemCatalog.findByCategory("Tools");
+
+        // When
+        itemCatalog.onRemoteItemChange(changed("Electronics", "Warehouse A"));
+        itemCatalog.findByCategory("Tools");
+
+        // Then
+        verify(itemRepository, times(1)).findByCategory("Tools");
+    }
+
+    @Test
+    void onLocalItemChange_ShouldBroadcastToOtherInstances() {
+        // Given
+        ItemChangedEvent event = changed("Electronics", "Warehouse A");
+
+        // When
+        itemCatalog.onLocalItemChange(event);
+
+        // Then
+        verify(eventProducerService).send(eq(ItemCatalog.ITEM_CHANGED_TOPIC), eq(item.getId().toString()), eq(event));
+    }
+
+    @Test
+    void onLocalItemChange_ShouldStillEvict_WhenBroadcastFails() {
+        // Given
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(eventProducerService.send(any(), any(), any()))
+                .thenThrow(new EventProducerService.SendBufferFullException("full"));
+        itemCatalog.findById(item.getId());
+
+        // When
+        itemCatalog.onLocalItemChange(changed("Electronics", "Warehouse A"));
+        itemCatalog.findById(item.getId());
+
+        // Then
+        verify(itemRepository, times(2)).findById(item.getId());
+    }
+
+    private ItemChangedEvent changed(String category, String location) {
+        return new ItemChangedEvent(item.getId(), category, location,
+                ItemChangedEvent.ChangeType.UPDATED, LocalDateTime.now());
+    }
+}
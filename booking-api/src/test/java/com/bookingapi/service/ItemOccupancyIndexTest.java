@@ -0,0 +1,231 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.Item;
+import com.bookingapi.repository.AvailableItemQuery;
+import com.bookingapi.repository.BookingRepository;
+import com.bookingapi.repository.BookingSlot;
+import com.bookingapi.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemOccupancyIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemOccupancyIndex index;
+    private Item camera;
+    private Item drill;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemOccupancyIndex(itemRepository, bookingRepository, new SimpleMeterRegistry(), true);
+        camera = item("Electronics", "50.00");
+        drill = item("Tools", "20.00");
+        base = LocalDateTime.now().plusDays(10).toLocalDate().atTime(12, 0);
+        when(itemRepository.findAll()).thenReturn(List.of(camera, drill));
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenReturn(List.of());
+        index.load();
+    }
+
+    @Test
+    void findAvailable_ShouldSkipItemsBookedOnInteriorDays_WithoutQuerying() {
+        // Given
+        index.add(camera.getId(), base.plusDays(1), base.plusDays(2));
+
+        // When
+        List<UUID> free = index.findAvailable(query(base, base.plusDays(4), null, null, 10));
+
+        // Then
+        assertThat(free).containsExactly(drill.getId());
+        verify(bookingRepository, never()).findConflictingBookingSlots(anyCollection(), any(), any());
+    }
+
+    @Test
+    void findAvailable_ShouldCheckBoundaryDaysAgainstDatabase() {
+        // Given - booked until the morning of the first search day
+        index.add(camera.getId(), base.minusDays(2), base.minusHours(3));
+        when(bookingRepository.findConflictingBookingSlots(List.of(camera.getId()), base, base.plusDays(2)))
+                .thenReturn(List.of());
+
+        // When
+        List<UUID> free = index.findAvailable(query(base, base.plusDays(2), null, null, 10));
+
+        // Then
+        assertThat(free).contains(camera.getId(), drill.getId());
+    }
+
+    @Test
+    void findAvailable_ShouldDropBoundaryConflictsConfirmedByDatabase() {
+        // Given
+        index.add(camera.getId(), base.minusDays(2), base.plusHours(1));
+        when(bookingRepository.findConflictingBookingSlots(List.of(camera.getId()), base, base.plusDays(2)))
+                .thenReturn(List.of(new Slot(camera.getId(), base.minusDays(2), base.plusHours(1))));
+
+        // When
+        List<UUID> free = index.findAvailable(query(base, base.plusDays(2), null, null, 10));
+
+        // Then
+        assertThat(free).containsExactly(drill.getId());
+    }
+
+    @Test
+    void findAvailable_ShouldApplyFiltersAndPageInIdOrder() {
+        // Given
+        List<UUID> ordered = List.of(camera.getId(), drill.getId()).stream()
+                .sorted(ItemOccupancyIndex.UUID_ORDER)
+                .toList();
+
+        // When
+        List<UUID> firstPage = index.findAvailable(query(base, base.plusDays(1), null, null, 1));
+        List<UUID> secondPage = index.findAvailable(query(base, base.plusDays(1), null, firstPage.get(0), 1));
+        List<UUID> tools = index.findAvailable(query(base, base.plusDays(1), "Tools", null, 10));
+        List<UUID> cheap = index.findAvailable(new AvailableItemQuery(base, base.plusDays(1), null, null,
+                new BigDecimal("30.00"), null, 10));
+
+        // Then
+        assertThat(firstPage).containsExactly(ordered.get(0));
+        assertThat(secondPage).containsExactly(ordered.get(1));
+        assertThat(tools).containsExactly(drill.getId());
+        assertThat(cheap).containsExactly(drill.getId());
+    }
+
+    @Test
+    void remove_ShouldKeepDaysStillHeldByOtherBookings() {
+        // Given - two bookings share the middle day, one is cancelled
+        index.add(camera.getId(), base, base.plusDays(2));
+        index.add(camera.getId(), base.plusDays(2), base.plusDays(4));
+        when(bookingRepository.findConflictingBookingSlots(eqList(camera.getId()), any(), any()))
+                .thenReturn(List.of(new Slot(camera.getId(), base.plusDays(2), base.plusDays(4))));
+
+        // When
+        index.remove(camera.getId(), base, base.plusDays(2));
+
+        // Then
+        assertThat(index.findAvailable(query(base.minusDays(1), base.plusDays(1).plusHours(6), null, null, 10)))
+                .contains(camera.getId());
+        assertThat(index.findAvailable(query(base.plusDays(1), base.plusDays(5), null, null, 10)))
+                .doesNotContain(camera.getId());
+    }
+
+    @Test
+    void remove_ShouldQueryAgain_WhenItemChangesWhileQuerying() {
+        // Given - a booking of the same days commits while the cancelled one is being cleared
+        index.add(camera.getId(), base, base.plusDays(2));
+        when(bookingRepository.findConflictingBookingSlots(eqList(camera.getId()), any(), any()))
+                .thenAnswer(invocation -> {
+                    index.add(camera.getId(), base.plusDays(1), base.plusDays(2));
+                    return List.of();
+                })
+                .thenReturn(List.of(new Slot(camera.getId(), base.plusDays(1), base.plusDays(2))));
+
+        // When
+        index.remove(camera.getId(), base, base.plusDays(2));
+
+        // Then
+        verify(bookingRepository, times(2)).findConflictingBookingSlots(eqList(camera.getId()), any(), any());
+        assertThat(index.findAvailable(query(base.plusDays(1), base.plusDays(3), null, null, 10)))
+                .doesNotContain(camera.getId());
+    }
+
+    @Test
+    void removeAll_ShouldRefillEveryItemWithOneQuery_AndSkipEndedBookings() {
+        // Given
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        index.add(camera.getId(), base, base.plusDays(2));
+        index.add(drill.getId(), base, base.plusDays(2));
+        when(bookingRepository.findConflictingBookingSlots(anyList(), any(), any())).thenReturn(List.of());
+
+        // When
+        index.removeAllAfterCommit(List.of(
+                new ItemOccupancyIndex.BookedRange(camera.getId(), base, base.plusDays(2)),
+                new ItemOccupancyIndex.BookedRange(drill.getId(), base, base.plusDays(2)),
+                new ItemOccupancyIndex.BookedRange(drill.getId(), yesterday.minusDays(3), yesterday)));
+
+        // Then
+        verify(bookingRepository, times(1)).findConflictingBookingSlots(
+                argThat(ids -> ids.size() == 2), eq(base.toLocalDate().atStartOfDay()), any());
+        assertThat(index.findAvailable(query(base.minusDays(1), base.plusDays(3), null, null, 10)))
+                .containsExactlyInAnyOrder(camera.getId(), drill.getId());
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesMadeWhileItRuns() {
+        // Given - the rebuild reads a booking that is cancelled, and misses one that is made
+        when(bookingRepository.findActiveBookingSlots(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            index.add(drill.getId(), base, base.plusDays(3));
+            index.remove(camera.getId(), base, base.plusDays(3));
+            return List.of(new Slot(camera.getId(), base, base.plusDays(3)));
+        });
+        when(bookingRepository.findConflictingBookingSlots(eqList(camera.getId()), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertThat(index.findAvailable(query(base.minusDays(1), base.plusDays(4), null, null, 10)))
+                .containsExactly(camera.getId());
+    }
+
+    private AvailableItemQuery query(LocalDateTime start, LocalDateTime end, String category, UUID afterId, int limit) {
+        return new AvailableItemQuery(start, end, category, null, null, afterId, limit);
+    }
+
+    private static List<UUID> eqList(UUID itemId) {
+        return argThat(ids -> ids != null && ids.size() == 1 && ids.contains(itemId));
+    }
+
+    private Item item(String category, String price) {
+        return Item.builder()
+                .id(UUID.randomUUID())
+                .name(category + " item")
+                .category(category)
+                .pricePerDay(new BigDecimal(price))
+                .isAvailable(true)
+                .build();
+    }
+
+    private record Slot(UUID itemId, LocalDateTime startDate, LocalDateTime endDate) implements BookingSlot {
+
+        @Override
+        public UUID getId() {
+            return null;
+        }
+
+        @Override
+        public UUID getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public LocalDateTime getStartDate() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDateTime getEndDate() {
+            return endDate;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.OutboxEvent;
+import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private EventProducerService eventProducerService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxService, eventProducerService,
+                new TransactionTemplate(transactionManager), meterRegistry, 2, 1000);
+    }
+
+    @Test
+    void relay_ShouldPublishBatchesInOrderAndDeleteThem() throws Exception {
+        // Given
+        OutboxEvent first = outboxEvent(1L);
+        OutboxEvent second = outboxEvent(2L);
+        OutboxEvent third = outboxEvent(3L);
+        BookingCreatedEvent event = BookingCreatedEvent.builder().bookingId(UUID.randomUUID()).build();
+        when(outboxEventRepository.lockNextBatch(2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(outboxService.readPayload(any())).thenReturn(event);
+        when(eventProducerService.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        var inOrder = inOrder(eventProducerService, outboxEventRepository);
+        inOrder.verify(eventProducerService).send("booking_created", "key-1", event);
+        inOrder.verify(eventProducerService).send("booking_created", "key-2", event);
+        inOrder.verify(outboxEventRepository).deleteAllInBatch(List.of(first, second));
+        inOrder.verify(eventProducerService).send("booking_created", "key-3", event);
+        inOrder.verify(outboxEventRepository).deleteAllInBatch(List.of(third));
+        assertThat(meterRegistry.counter("booking.outbox.published").count()).isEqualTo(3);
+    }
+
+    @Test
+    void relay_ShouldKeepEvents_WhenKafkaSendFails() throws Exception {
+        // Given
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of(outboxEvent(1L)));
+        when(outboxService.readPayload(any())).thenReturn(new BookingCreatedEvent());
+        when(eventProducerService.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.counter("booking.outbox.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void relay_ShouldReportLagOfOldestEvent() {
+        // Given
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of());
+        when(outboxEventRepository.findOldestCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+        when(outboxEventRepository.count()).thenReturn(5L);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        assertThat(outboxRelay.getLagMillis()).isGreaterThanOrEqualTo(30_000);
+        assertThat(meterRegistry.get("booking.outbox.pending").gauge().value()).isEqualTo(5);
+    }
+
+    private OutboxEvent outboxEvent(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("booking_created")
+                .eventKey("key-" + id)
+                .eventType("BookingCreatedEvent")
+                .payload("{}")
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookingapi.service;
+
+import com.bookingapi.entity.OutboxEvent;
+import com.bookingapi.event.BookingCreatedEvent;
+import com.bookingapi.event.BookingStatusChangedEvent;
+import com.bookingapi.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void enqueueBookingCreated_ShouldStoreSerializedEvent() throws Exception {
+        // Given
+        BookingCreatedEvent event = BookingCreatedEvent.builder()
+                .bookingId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .itemName("Test Item")
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(3))
+                .totalPrice(BigDecimal.valueOf(150.00))
+                .status("CONFIRMED")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        // When
+        outboxService.enqueueBookingCreated(event);
+
+        // Then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent stored = captor.getValue();
+        assertThat(stored.getTopic()).isEqualTo("booking_created");
+        assertThat(stored.getEventKey()).isEqualTo(event.getBookingId().toString());
+        assertThat(stored.getEventType()).isEqualTo("BookingCreatedEvent");
+        assertThat(outboxService.readPayload(stored)).isEqualTo(event);
+    }
+
+    @Test
+    void enqueueBookingStatusChanged_ShouldStoreUnkeyedBatch() throws Exception {
+        // Given
+        BookingStatusChangedEvent event = BookingStatusChangedEvent.builder()
+                .changes(List.of(new BookingStatusChangedEvent.Change(
+                        UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "CONFIRMED", "ACTIVE")))
+                .changedAt(LocalDateTime.now())
+                .build();
+
+        // When
+        outboxService.enqueueBookingStatusChanged(event);
+
+        // Then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent stored = captor.getValue();
+        assertThat(stored.getTopic()).isEqualTo("booking_status_changed");
+        assertThat(stored.getEventKey()).isNull();
+        assertThat(outboxService.readPayload(stored)).isEqualTo(event);
+    }
+
+    @Test
+    void enqueue_ShouldRejectUnknownEventTypes() {
+        // When & Then
+        assertThatThrownBy(() -> outboxService.enqueue("some_topic", "key", "not an event"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported outbox event type: String");
+
+        verify(outboxEventRepository, never()).save(any());
+    }
+}
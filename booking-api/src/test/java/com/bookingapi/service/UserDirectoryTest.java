@@ -0,0 +1,98 @@
+package com.bookingapi.service;
+
+import com.bookingapi.repository.UserRepository;
+import com.bookingapi.repository.UserSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDirectory userDirectory;
+    private UserSummary user;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory = new UserDirectory(userRepository, new SimpleMeterRegistry(), 1000);
+        user = new UserSummary(UUID.randomUUID(), "test@example.com", "John", "Doe");
+    }
+
+    @Test
+    void find_ShouldServeRegisteredUsersWithoutQuerying() {
+        // Given
+        userDirectory.putAll(List.of(user));
+
+        // When
+        Optional<UserSummary> found = userDirectory.find(user.id());
+
+        // Then
+        assertThat(found).contains(user);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void find_ShouldLoadAndCacheMisses() {
+        // Given
+        when(userRepository.findSummaryById(user.id())).thenReturn(Optional.of(user));
+
+        // When
+        userDirectory.find(user.id());
+        Optional<UserSummary> second = userDirectory.find(user.id());
+
+        // Then
+        assertThat(second).contains(user);
+        verify(userRepository, times(1)).findSummaryById(user.id());
+    }
+
+    @Test
+    void find_ShouldNotCacheUnknownUsers() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(userRepository.findSummaryById(unknownId)).thenReturn(Optional.empty());
+
+        // When
+        userDirectory.find(unknownId);
+        userDirectory.find(unknownId);
+
+        // Then
+        verify(userRepository, times(2)).findSummaryById(unknownId);
+    }
+
+    @Test
+    void findAll_ShouldLoadOnlyMissesInOneQuery() {
+        // Given
+        UserSummary other = new UserSummary(UUID.randomUUID(), "other@example.com", "Jane", "Smith");
+        userDirectory.putAll(List.of(user));
+        when(userRepository.findSummariesByIdIn(Set.of(other.id()))).thenReturn(List.of(other));
+
+        // When
+        Map<UUID, UserSummary> found = userDirectory.findAll(List.of(user.id(), other.id()));
+
+        // Then
+        assertThat(found).containsOnlyKeys(user.id(), other.id());
+        verify(userRepository, times(1)).findSummariesByIdIn(Set.of(other.id()));
+    }
+
+    @Test
+    void toUser_ShouldCarrySummaryValues() {
+        // When & Then
+        assertThat(user.toUser().getId()).isEqualTo(user.id());
+        assertThat(user.toUser().getEmail()).isEqualTo(user.email());
+    }
+}